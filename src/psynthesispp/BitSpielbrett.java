@@ -0,0 +1,1056 @@
+package psynthesispp;
+import java.util.ArrayList;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.HexagonTuple;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.Playable;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.Status;
+import psynthesispp.preset.Viewable;
+import psynthesispp.preset.Viewer;
+
+/**
+ * Alternative Spiel-Engine zu Spielbrett, die das Spielfeld als Bitmasken speichert.
+ * Jedes Feld hat den Index spalte * Hexagon.BASE + zeile (wie Hexagon.hashCode()), da das Spielfeld hoechstens
+ * 11x11 = 121 Felder hat, passt jede Maske in 128 Bit (zwei longs).
+ * Belegung, Besitzer, Baumgroesse (drei Bit-Ebenen) und benutzte Felder sind jeweils eine solche Maske.
+ * Die Regeln entsprechen genau denen von Spielbrett. Als SimulationBoard ersetzt es Spielbrett in den
+ * Zufallspartien von AdvancedBot und MctsBot.
+ *
+ * @author evgen
+ */
+public class BitSpielbrett implements Playable, Viewable, Cloneable, SimulationBoard {
+
+	private static final int RED = 0;
+	private static final int BLUE = 1;
+	private static final int BASE = Hexagon.BASE;
+	private static final int NUM_SIZE_BITS = 3;
+
+	private int n;
+	private int k;
+	private RuleTables rules;
+
+	private Status status;
+	private int round;
+	private int sunPos;
+	private int sunRevolutions;
+	private boolean gameOver;
+	private PlayerColor turnColor;
+	private int[] numTreesCompleted;
+
+	private long[] validMask;
+	private long[] occupiedMask;
+	private long[] redMask;
+	private long[] usedMask;
+	private long[][] sizeMasks;
+
+	private int[] energy;
+	private int[] points;
+	private int[] leftPrepareTrees;
+	private int[][] activeElements;
+	private int[][] passiveElements;
+	private int[] maxPassiveElements;
+	private int[] tmpActiveElements;
+
+	private MoveType phaseRed;
+	private MoveType phaseBlue;
+
+	/**
+	 * Initialisiere Spielbrett mit der uebergebenen Groesse
+	 *
+	 * @param size Groesse des Spielbretts
+	 * @throws IllegalArgumentException falls die Groesse nicht zwischen 1 und 5 liegt
+	 */
+	public BitSpielbrett(int size) throws IllegalArgumentException {
+		k = size;
+		n = k * 2 + 1;
+
+		if (k < 1 || k > 5)
+			throw new IllegalArgumentException("Spielbrettgroesse muss zwischen 1 und 5 liegen!");
+
+		initMasks();
+
+		round = 0;
+		sunPos = 0;
+		sunRevolutions = 0;
+		gameOver = false;
+		status = Status.Ok;
+		turnColor = PlayerColor.Red;
+
+		phaseRed = MoveType.Prepare;
+		phaseBlue = MoveType.Prepare;
+
+		Inventory startInventory = new Inventory(k);
+		energy = new int[2];
+		points = new int[2];
+		leftPrepareTrees = new int[] {startInventory.getPrepareTrees(), startInventory.getPrepareTrees()};
+		activeElements = new int[][] {startInventory.getActiveInventory().clone(), startInventory.getActiveInventory().clone()};
+		passiveElements = new int[][] {startInventory.getPassiveInventory().clone(), startInventory.getPassiveInventory().clone()};
+		maxPassiveElements = startInventory.getMaxPassiveInventory().clone();
+
+		numTreesCompleted = new int[k + 1];
+	}
+
+	/**
+	 * Erstellt ein Spielbrett anhand der Werte des Viewers
+	 *
+	 * @param viewer Read-Only Darstellung eines Spielbretts
+	 */
+	public BitSpielbrett(Viewer viewer) {
+		k = viewer.getSize();
+		n = k * 2 + 1;
+
+		initMasks();
+
+		round = viewer.getRound();
+		status = viewer.getStatus();
+		sunPos = viewer.getSunPos();
+		sunRevolutions = viewer.getSunRevolutions();
+		gameOver = viewer.isGameOver();
+		turnColor = viewer.getTurnColor();
+		phaseRed = viewer.getPhaseOf(PlayerColor.Red);
+		phaseBlue = viewer.getPhaseOf(PlayerColor.Blue);
+		numTreesCompleted = viewer.getNumTreesCompleted().clone();
+
+		energy = new int[2];
+		points = new int[2];
+		leftPrepareTrees = new int[2];
+		activeElements = new int[2][];
+		passiveElements = new int[2][];
+
+		for (PlayerColor color : PlayerColor.values()) {
+			int c = colorIndex(color);
+			Inventory inventory = viewer.getInventoryOf(color);
+			energy[c] = inventory.getEnergy();
+			points[c] = inventory.getPoints();
+			leftPrepareTrees[c] = inventory.getPrepareTrees();
+			activeElements[c] = inventory.getActiveInventory().clone();
+			passiveElements[c] = inventory.getPassiveInventory().clone();
+			maxPassiveElements = inventory.getMaxPassiveInventory().clone();
+		}
+
+		GameUnit[][] field = viewer.getField();
+		boolean[][] usedField = viewer.getUsedField();
+
+		for (int y = 0; y < n; y++) {
+			for (int x = 0; x < n; x++) {
+				int cell = y * BASE + x;
+
+				if (usedField[y][x])
+					setBit(usedMask, cell);
+
+				if (field[y][x] == null || !field[y][x].isTree())
+					continue;
+
+				placeTree(cell, field[y][x].getSize(), field[y][x].getPlayerOwner());
+			}
+		}
+	}
+
+	/**
+	 * Berechnet die Maske der gueltigen Felder und legt die leeren Masken an
+	 */
+	private void initMasks() {
+		rules = RuleTables.of(k);
+
+		validMask = new long[2];
+		occupiedMask = new long[2];
+		redMask = new long[2];
+		usedMask = new long[2];
+		sizeMasks = new long[NUM_SIZE_BITS][2];
+		tmpActiveElements = new int[k + 1];
+
+		for (int cell : rules.getCells()) {
+			setBit(validMask, cell);
+		}
+	}
+
+	/**
+	 * DeepCopy des Spielbretts
+	 *
+	 * @return Kopie des Spielbretts
+	 */
+	@Override
+	public BitSpielbrett clone() {
+		BitSpielbrett copy;
+
+		try {
+			copy = (BitSpielbrett) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+
+		copy.numTreesCompleted = numTreesCompleted.clone();
+		copy.occupiedMask = occupiedMask.clone();
+		copy.redMask = redMask.clone();
+		copy.usedMask = usedMask.clone();
+		copy.sizeMasks = new long[NUM_SIZE_BITS][];
+		for (int i = 0; i < NUM_SIZE_BITS; i++) {
+			copy.sizeMasks[i] = sizeMasks[i].clone();
+		}
+		copy.energy = energy.clone();
+		copy.points = points.clone();
+		copy.leftPrepareTrees = leftPrepareTrees.clone();
+		copy.activeElements = new int[][] {activeElements[RED].clone(), activeElements[BLUE].clone()};
+		copy.passiveElements = new int[][] {passiveElements[RED].clone(), passiveElements[BLUE].clone()};
+		copy.tmpActiveElements = new int[k + 1];
+
+		return copy;
+	}
+
+	/**
+	 * Erstellt eine neue Read-Only Darstellung des Spielbretts und gibt diese zurueck
+	 *
+	 * @return Read-Only Darstellung des Spielbretts
+	 */
+	@Override
+	public Viewer viewer() {
+		GameUnit[][] gamefield = new GameUnit[n][n];
+		boolean[][] usedField = new boolean[n][n];
+
+		for (int y = 0; y < n; y++) {
+			for (int x = 0; x < n; x++) {
+				int cell = y * BASE + x;
+
+				usedField[y][x] = testBit(usedMask, cell);
+
+				if (!testBit(validMask, cell))
+					continue;
+
+				if (testBit(occupiedMask, cell))
+					gamefield[y][x] = new GameUnit(y, x, getSize(cell), getOwner(cell));
+				else
+					gamefield[y][x] = new GameUnit(y, x, -1, null);
+			}
+		}
+
+		// Spielfeld und Inventare sind bereits neu erstellt und werden ohne weitere Kopie uebernommen
+		return new GameView(k, round, gamefield, turnColor, phaseRed, phaseBlue, getInventoryOf(PlayerColor.Red),
+				getInventoryOf(PlayerColor.Blue), status, gameOver, sunPos, sunRevolutions, numTreesCompleted.clone(), usedField, null);
+	}
+
+	/**
+	 * Erstellt das Inventar des gewuenschten Spielers aus den Werten des Spielbretts
+	 *
+	 * @param color Farbe des gewuenschten Spielers
+	 * @return Inventar des gewuenschten Spielers
+	 */
+	private Inventory getInventoryOf(PlayerColor color) {
+		int c = colorIndex(color);
+		ArrayList<Hexagon> plantedTrees = new ArrayList<>();
+
+		for (int w = 0; w < 2; w++) {
+			long trees = occupiedMask[w] & ((color == PlayerColor.Red) ? redMask[w] : ~redMask[w]);
+
+			while (trees != 0) {
+				int cell = w * 64 + Long.numberOfTrailingZeros(trees);
+				plantedTrees.add(Hexagon.ofHash(cell));
+				trees &= trees - 1;
+			}
+		}
+
+		return new Inventory(energy[c], points[c], leftPrepareTrees[c], activeElements[c], passiveElements[c], maxPassiveElements, plantedTrees);
+	}
+
+	/**
+	 * Setzt das Bit fuer das Feld in der Maske
+	 *
+	 * @param mask 128-Bit-Maske
+	 * @param cell Feldindex
+	 */
+	private static void setBit(long[] mask, int cell) {
+		mask[cell >>> 6] |= 1L << (cell & 63);
+	}
+
+	/**
+	 * Loescht das Bit fuer das Feld in der Maske
+	 *
+	 * @param mask 128-Bit-Maske
+	 * @param cell Feldindex
+	 */
+	private static void clearBit(long[] mask, int cell) {
+		mask[cell >>> 6] &= ~(1L << (cell & 63));
+	}
+
+	/**
+	 * Gibt zurueck, ob das Bit fuer das Feld in der Maske gesetzt ist
+	 *
+	 * @param mask 128-Bit-Maske
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Bit gesetzt ist
+	 */
+	private static boolean testBit(long[] mask, int cell) {
+		return (mask[cell >>> 6] & (1L << (cell & 63))) != 0;
+	}
+
+	/**
+	 * Gibt den Index des Spielers in den Inventar-Arrays zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Index des Spielers
+	 */
+	private static int colorIndex(PlayerColor color) {
+		return (color == PlayerColor.Red) ? RED : BLUE;
+	}
+
+	/**
+	 * Gibt den Feldindex zu den Spielfeld-Array-Indizes zurueck oder -1, falls das Feld nicht existiert
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @return Feldindex oder -1
+	 */
+	private int cellOf(int y, int x) {
+		if (y < 0 || x < 0 || y >= n || x >= n)
+			return -1;
+
+		int cell = y * BASE + x;
+
+		return testBit(validMask, cell) ? cell : -1;
+	}
+
+	/**
+	 * Gibt die Groesse des Baumes auf dem Feld zurueck
+	 *
+	 * @param cell Feldindex eines belegten Feldes
+	 * @return Groesse des Baumes
+	 */
+	private int getSize(int cell) {
+		int size = 0;
+
+		for (int i = 0; i < NUM_SIZE_BITS; i++) {
+			if (testBit(sizeMasks[i], cell))
+				size |= 1 << i;
+		}
+
+		return size;
+	}
+
+	/**
+	 * Setzt die Groesse des Baumes auf dem Feld
+	 *
+	 * @param cell Feldindex
+	 * @param size Groesse des Baumes
+	 */
+	private void setSize(int cell, int size) {
+		for (int i = 0; i < NUM_SIZE_BITS; i++) {
+			if ((size & (1 << i)) != 0)
+				setBit(sizeMasks[i], cell);
+			else
+				clearBit(sizeMasks[i], cell);
+		}
+	}
+
+	/**
+	 * Gibt den Besitzer des Baumes auf dem Feld zurueck
+	 *
+	 * @param cell Feldindex eines belegten Feldes
+	 * @return Besitzer des Baumes
+	 */
+	private PlayerColor getOwner(int cell) {
+		return testBit(redMask, cell) ? PlayerColor.Red : PlayerColor.Blue;
+	}
+
+	/**
+	 * Setzt einen Baum mit Groesse und Besitzer auf das Feld
+	 *
+	 * @param cell Feldindex
+	 * @param size Groesse des Baumes
+	 * @param owner Besitzer des Baumes
+	 */
+	private void placeTree(int cell, int size, PlayerColor owner) {
+		setBit(occupiedMask, cell);
+		setSize(cell, size);
+
+		if (owner == PlayerColor.Red)
+			setBit(redMask, cell);
+		else
+			clearBit(redMask, cell);
+	}
+
+	/**
+	 * Entfernt den Baum vom Feld
+	 *
+	 * @param cell Feldindex
+	 */
+	private void removeTree(int cell) {
+		clearBit(occupiedMask, cell);
+		clearBit(redMask, cell);
+		setSize(cell, 0);
+	}
+
+	/**
+	 * Gib true zurueck, falls y und x ausserhalb des Spielfeld-Arrays liegen
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @return boolean y und x liegen nicht im Index-Bereich des Spielfeld-Arrays
+	 */
+	public boolean outOfBounds(int y, int x) {
+		return (y < 0 || x < 0 || y >= n || x >= n);
+	}
+
+	/**
+	 * Gibt true zurueck, falls y und x ausserhalb des Spielfeld-Arrays liegen oder das Feld nicht zum Spielbrett gehoert
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @return y und x liegen nicht im Bereich des Spielfeld-Arrays oder das Feld gehoert nicht zum Spielbrett
+	 */
+	public boolean isNull(int y, int x) {
+		return cellOf(y, x) < 0;
+	}
+
+	/**
+	 * Gibt true zurueck, falls an Stelle y und x ein unbepflanztes Feld ist
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @return y und x liegen nicht im Bereich des Spielfeld-Arrays oder das Feld hat keinen Samen/Baum
+	 */
+	public boolean isEmpty(int y, int x) {
+		int cell = cellOf(y, x);
+
+		return cell >= 0 && !testBit(occupiedMask, cell);
+	}
+
+	/**
+	 * Berechnet die erzeugte Energie auf einem Feld und gibt diese zurueck
+	 *
+	 * @param originHex Hexagon, dessen Energy berechnet werden soll
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @return produzierte Energy des Baumes auf originHex
+	 */
+	public int getProducedEnergyOf(Hexagon originHex, int sunPos) {
+		int cell = cellOf(originHex.getColumn(), originHex.getRow());
+
+		if (cell < 0 || !testBit(occupiedMask, cell))
+			return 0;
+
+		return getProducedEnergyOf(cell, sunPos);
+	}
+
+	/**
+	 * Berechnet die erzeugte Energie des Baumes auf einem belegten Feld
+	 *
+	 * @param cell Feldindex eines belegten Feldes
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @return produzierte Energy des Baumes
+	 */
+	private int getProducedEnergyOf(int cell, int sunPos) {
+		int[] shadowRay = rules.getShadowRay(cell, sunPos);
+
+		for (int i = 0; i < shadowRay.length; i++) {
+			if (testBit(occupiedMask, shadowRay[i]) && getSize(shadowRay[i]) > i)
+				return 0;
+		}
+
+		return getSize(cell);
+	}
+
+	/**
+	 * Dreht die Sonne um eine Position weiter (Erhoeht die Sonnenposition um 1)
+	 */
+	private void rotateSun() {
+		sunPos++;
+		if (sunPos > 5) {
+			sunRevolutions++;
+			if (sunRevolutions == RuleTables.NUM_SUN_REVOLUTIONS)
+				checkWin();
+
+			sunPos = 0;
+		}
+	}
+
+	/**
+	 * Berechnet und fuegt dem jeweiligen Inventar die in dieser Runde erhaltene Energie hinzu
+	 */
+	private void sunshine() {
+		for (int w = 0; w < 2; w++) {
+			long trees = occupiedMask[w];
+
+			while (trees != 0) {
+				int cell = w * 64 + Long.numberOfTrailingZeros(trees);
+				energy[testBit(redMask, cell) ? RED : BLUE] += getProducedEnergyOf(cell, sunPos);
+				trees &= trees - 1;
+			}
+		}
+	}
+
+	/**
+	 * Prueft, ob das ausgewaehlte Hexagon fuer den Vorbereitungszug geeignet ist
+	 *
+	 * @param hex zu testendes Hexagon
+	 * @return Wahrheitswert, ob geeignet oder nicht
+	 */
+	public boolean isPreparable(Hexagon hex) {
+		int cell = cellOf(hex.getColumn(), hex.getRow());
+
+		if (cell < 0)
+			return false;
+
+		if (rules.getDistanceToCenter(cell) != k)
+			return false;
+
+		return !testBit(occupiedMask, cell);
+	}
+
+	/**
+	 * Prueft, ob die Inhalte des Parameters aktiviert werden koennen
+	 *
+	 * @param numOfElements zu aktivierende Elemente
+	 * @return Wahrheitswert, ob die Elemente aktiviert werden koennen
+	 */
+	public boolean isActivateable(ArrayList<Integer> numOfElements) {
+		int c = colorIndex(turnColor);
+		int energyLeft = energy[c];
+		int[] passiveInventory = passiveElements[c];
+
+		if (numOfElements.size() > passiveInventory.length)
+			return false;
+
+		for (int i = 0; i < numOfElements.size(); i++) {
+			if (passiveInventory[i] < numOfElements.get(i))
+				return false;
+
+			energyLeft -= numOfElements.get(i) * rules.getActivationCost(i, passiveInventory[i]);
+
+			if (energyLeft < 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Uberprueft, ob der Inhalt des Parameters pflanzbar ist
+	 *
+	 * @param treeToSeedTuples Hexagon-Paare für Baeume und dazugehoerige Samen
+	 * @return Wahrheitswert, ob Inhalte pflanzbar sind
+	 */
+	public boolean isPlantable(ArrayList<HexagonTuple> treeToSeedTuples) {
+		int c = colorIndex(turnColor);
+
+		if (energy[c] < treeToSeedTuples.size())
+			return false;
+
+		if (activeElements[c][0] < treeToSeedTuples.size())
+			return false;
+
+		long usedLo = usedMask[0];
+		long usedHi = usedMask[1];
+
+		for (int i = 0; i < treeToSeedTuples.size(); i++) {
+			Hexagon from = treeToSeedTuples.get(i).getFrom();
+			Hexagon to = treeToSeedTuples.get(i).getTo();
+			int fromCell = cellOf(from.getColumn(), from.getRow());
+			int toCell = cellOf(to.getColumn(), to.getRow());
+
+			if (fromCell < 0 || toCell < 0)
+				return false;
+
+			if (!testBit(occupiedMask, fromCell))
+				return false;
+
+			if (getOwner(fromCell) != turnColor)
+				return false;
+
+			if (testBit(occupiedMask, toCell))
+				return false;
+
+			if (rules.getDistance(fromCell, toCell) != getSize(fromCell))
+				return false;
+
+			long fromBit = 1L << (fromCell & 63);
+			long toBit = 1L << (toCell & 63);
+
+			if ((((fromCell < 64) ? usedLo : usedHi) & fromBit) != 0)
+				return false;
+
+			if ((((toCell < 64) ? usedLo : usedHi) & toBit) != 0)
+				return false;
+
+			if (fromCell < 64)
+				usedLo |= fromBit;
+			else
+				usedHi |= fromBit;
+
+			if (toCell < 64)
+				usedLo |= toBit;
+			else
+				usedHi |= toBit;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Uberprueft, ob man die Inhalte des Paramaters wachsen lassen kann
+	 *
+	 * @param growList Hexagone, die wachsen sollen
+	 * @return Wahrheitswerte, ob man die Inhalte des Paramaters wachsen lassen kann
+	 */
+	public boolean isGrowable(ArrayList<Hexagon> growList) {
+		int c = colorIndex(turnColor);
+		int energyLeft = energy[c];
+		int[] activeLeft = tmpActiveElements;
+		System.arraycopy(activeElements[c], 0, activeLeft, 0, activeLeft.length);
+
+		long usedLo = usedMask[0];
+		long usedHi = usedMask[1];
+
+		for (int i = 0; i < growList.size(); i++) {
+			Hexagon curHex = growList.get(i);
+			int cell = cellOf(curHex.getColumn(), curHex.getRow());
+
+			if (cell < 0)
+				return false;
+
+			if (!testBit(occupiedMask, cell))
+				return false;
+
+			if (getOwner(cell) != turnColor)
+				return false;
+
+			long bit = 1L << (cell & 63);
+
+			if ((((cell < 64) ? usedLo : usedHi) & bit) != 0)
+				return false;
+
+			int newTreeSize = getSize(cell) + 1;
+
+			energyLeft -= newTreeSize;
+
+			if (energyLeft <= 0)
+				return false;
+
+			if (cell < 64)
+				usedLo |= bit;
+			else
+				usedHi |= bit;
+
+			if (newTreeSize > k)
+				continue;
+
+			if (activeLeft[newTreeSize] <= 0)
+				return false;
+
+			activeLeft[newTreeSize]--;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Fuehrt einen Vorbereitungszug fuer das uebergebene Hexagon aus
+	 *
+	 * @param hex uebergebenens Hexagon
+	 * @return Status des gemachten Zuges
+	 */
+	private Status prepare(Hexagon hex) {
+		if (!isPreparable(hex))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		placeTree(hex.getColumn() * BASE + hex.getRow(), 1, turnColor);
+		activeElements[c][1]--;
+		leftPrepareTrees[c]--;
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Fuehrt einen Aktivierungszug fuer die uebergebene Anzahl an Elemente aus
+	 *
+	 * @param numOfElements uebergebene Anzahl an Elemente
+	 * @return Status des gemachten Zuges
+	 */
+	private Status activate(ArrayList<Integer> numOfElements) {
+		if (!isActivateable(numOfElements))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		for (int i = 0; i < numOfElements.size(); i++) {
+			int num = numOfElements.get(i);
+
+			energy[c] -= num * rules.getActivationCost(i, passiveElements[c][i]);
+			activeElements[c][i] += num;
+			passiveElements[c][i] -= num;
+		}
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Fuehrt einen Pflanz-Zug fuer die uebergebenen Hexagon-Paare (Baum + Samen) aus
+	 *
+	 * @param treeToSeedTuples Liste von Hexagon-Paaren
+	 * @return Status des gemachten Zuges
+	 */
+	private Status plant(ArrayList<HexagonTuple> treeToSeedTuples) {
+		if (!isPlantable(treeToSeedTuples))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		for (int i = 0; i < treeToSeedTuples.size(); i++) {
+			Hexagon hexFrom = treeToSeedTuples.get(i).getFrom();
+			Hexagon hexTo = treeToSeedTuples.get(i).getTo();
+			int treeCell = hexFrom.getColumn() * BASE + hexFrom.getRow();
+			int seedCell = hexTo.getColumn() * BASE + hexTo.getRow();
+
+			setBit(usedMask, treeCell);
+			setBit(usedMask, seedCell);
+
+			placeTree(seedCell, 0, turnColor);
+			activeElements[c][0]--;
+		}
+
+		energy[c] -= treeToSeedTuples.size();
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Fuehrt einen Wachstums-Zug fuer die uebergebenen Hexagone aus
+	 *
+	 * @param growList Liste von Hexagonen, die Baume sind, welche wachsen sollen
+	 * @return Status des gemachten Zuges
+	 */
+	private Status grow(ArrayList<Hexagon> growList) {
+		if (!isGrowable(growList))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		for (int i = 0; i < growList.size(); i++) {
+			int cell = growList.get(i).getColumn() * BASE + growList.get(i).getRow();
+			int treeSize = getSize(cell);
+
+			setBit(usedMask, cell);
+
+			if (passiveElements[c][treeSize] + 1 <= maxPassiveElements[treeSize])
+				passiveElements[c][treeSize]++;
+
+			energy[c] -= treeSize + 1;
+
+			if (treeSize + 1 > k) {
+				int distanceToCenter = rules.getDistanceToCenter(cell);
+				int numCompletions = ++numTreesCompleted[distanceToCenter];
+				points[c] += rules.getCompletionScore(distanceToCenter, numCompletions);
+				removeTree(cell);
+				continue;
+			}
+
+			activeElements[c][treeSize + 1]--;
+
+			setSize(cell, treeSize + 1);
+		}
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Wechselt den Spieler, der an der Reihe ist
+	 */
+	private void switchPlayerTurn() {
+		turnColor = (turnColor == PlayerColor.Red) ? PlayerColor.Blue : PlayerColor.Red;
+	}
+
+	/**
+	 * Bestimmt und setzt die naechste Phase anhand der aktuellen Phase
+	 */
+	private void nextPhase() {
+		switch (getPhaseOf(turnColor)) {
+		case Prepare:
+			if (leftPrepareTrees[colorIndex(turnColor)] <= 0) {
+				if (turnColor == PlayerColor.Blue)
+					sunshine();
+
+				setPhaseOf(turnColor, MoveType.Activate);
+			}
+
+			switchPlayerTurn();
+			break;
+		case Activate:
+			setPhaseOf(turnColor, MoveType.Plant);
+			break;
+		case Plant:
+			setPhaseOf(turnColor, MoveType.Grow);
+			break;
+		case Grow:
+			if (turnColor == PlayerColor.Blue) {
+				rotateSun();
+				sunshine();
+				round++;
+			}
+
+			if (gameOver)
+				return;
+
+			usedMask[0] = 0;
+			usedMask[1] = 0;
+
+			setPhaseOf(turnColor, MoveType.Activate);
+			switchPlayerTurn();
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Ueberprueft, ob die uebergebene Phase mit der momentanen Phase uebereinstimmt
+	 *
+	 * @param expectedPhase uebergebene, zu erwartende Phase
+	 * @return Wahrheitswert, ob die uebergebene Phase mit der momentanen Phase uebereinstimmt
+	 */
+	private boolean isInPhase(MoveType expectedPhase) {
+		boolean isRightPhase = (getPhaseOf(turnColor) == expectedPhase);
+
+		if (!isRightPhase)
+			status = Status.Illegal;
+
+		return isRightPhase;
+	}
+
+	/**
+	 * Ueberprueft, ob 6 Sonnenumlaeufe vorbei sind und bestimmt den Gewinner
+	 */
+	private void checkWin() {
+		if (sunRevolutions != RuleTables.NUM_SUN_REVOLUTIONS)
+			return;
+
+		if (points[RED] > points[BLUE])
+			status = Status.RedWin;
+		else if (points[RED] < points[BLUE])
+			status = Status.BlueWin;
+		else if (energy[RED] > energy[BLUE])
+			status = Status.RedWin;
+		else
+			status = Status.BlueWin;
+
+		gameOver = true;
+	}
+
+	/**
+	 * Prueft, ob Phase des Parameters mit der erwarteten Phase uebereinstimmt, fuehrt den Zug aus, sobald es regelkonform ist, und setzt die naechste Phase
+	 *
+	 * @param move uebergebene Zug (Move)
+	 */
+	@Override
+	public void make(Move move) throws IllegalStateException {
+		if (gameOver) {
+			throw new IllegalStateException("Spiel bereits beendet!");
+		}
+
+		if (move == null) {
+			status = Status.Illegal;
+			return;
+		}
+
+		switch (move.getType()) {
+		case Surrender:
+			status = (turnColor == PlayerColor.Red) ? Status.BlueWin : Status.RedWin;
+			return;
+		case Prepare:
+			if (!isInPhase(MoveType.Prepare))
+				return;
+
+			status = prepare(move.getPrepare());
+
+			if (status == Status.Illegal)
+				return;
+
+			break;
+		case Activate:
+			if (!isInPhase(MoveType.Activate))
+				return;
+
+			usedMask[0] = 0;
+			usedMask[1] = 0;
+
+			status = activate(move.getActivate());
+
+			if (status == Status.Illegal)
+				return;
+
+			break;
+		case Plant:
+			if (!isInPhase(MoveType.Plant))
+				return;
+
+			status = plant(move.getPlant());
+
+			if (status == Status.Illegal)
+				return;
+
+			break;
+		case Grow:
+			if (!isInPhase(MoveType.Grow))
+				return;
+
+			status = grow(move.getGrow());
+
+			if (status == Status.Illegal)
+				return;
+
+			break;
+		default:
+			break;
+		}
+
+		nextPhase();
+	}
+
+	/**
+	 * Setzt Phase, in der sich der Spieler befindet
+	 *
+	 * @param color Farbe des Spielers
+	 * @param phase Phase
+	 */
+	private void setPhaseOf(PlayerColor color, MoveType phase) {
+		if (color == PlayerColor.Red)
+			phaseRed = phase;
+		else
+			phaseBlue = phase;
+	}
+
+	/**
+	 * Gibt Phase, in der sich der Spieler befindet, zurueck
+	 *
+	 * @param color Farbe des Spielers zu der die Phase abgefragt wird
+	 * @return Phase des Spielers mit übergebener Farbe
+	 */
+	public MoveType getPhaseOf(PlayerColor color) {
+		return (color == PlayerColor.Red) ? phaseRed : phaseBlue;
+	}
+
+	/**
+	 * Gibt zurueck, ob auf einem gueltigen Feld ein Samen oder Baum steht
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld belegt ist
+	 */
+	@Override
+	public boolean isTree(int cell) {
+		return testBit(occupiedMask, cell);
+	}
+
+	/**
+	 * Gibt die Groesse des Baumes auf einem belegten Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Groesse des Baumes
+	 */
+	@Override
+	public int getTreeSize(int cell) {
+		return getSize(cell);
+	}
+
+	/**
+	 * Gibt den Besitzer des Baumes auf einem belegten Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Besitzer des Baumes
+	 */
+	@Override
+	public PlayerColor getTreeOwner(int cell) {
+		return getOwner(cell);
+	}
+
+	/**
+	 * Gibt zurueck, ob ein gueltiges Feld in diesem Zug bereits benutzt wurde
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld benutzt wurde
+	 */
+	@Override
+	public boolean isUsed(int cell) {
+		return testBit(usedMask, cell);
+	}
+
+	/**
+	 * Gibt die Energie eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Energie
+	 */
+	@Override
+	public int getEnergyOf(PlayerColor color) {
+		return energy[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die Punkte eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Punkte
+	 */
+	@Override
+	public int getPointsOf(PlayerColor color) {
+		return points[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die aktiven Elemente eines Spielers nach Groesse zurueck (nicht veraendern)
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Anzahl der aktiven Elemente pro Groesse
+	 */
+	@Override
+	public int[] getActiveElementsOf(PlayerColor color) {
+		return activeElements[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die passiven Elemente eines Spielers nach Groesse zurueck (nicht veraendern)
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Anzahl der passiven Elemente pro Groesse
+	 */
+	@Override
+	public int[] getPassiveElementsOf(PlayerColor color) {
+		return passiveElements[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die gemeinsamen Regeltabellen fuer die Groesse dieses Spielbretts zurueck
+	 *
+	 * @return Regeltabellen
+	 */
+	public RuleTables getRules() {
+		return rules;
+	}
+
+	/**
+	 * Gibt die Farbe des Spielers, der aktuell an der Reihe ist, zurueck
+	 *
+	 * @return Farbe des Spielers, der aktuell an der Reihe ist
+	 */
+	public PlayerColor getTurnColor() {
+		return turnColor;
+	}
+
+	/**
+	 * Gibt den Status zurueck
+	 *
+	 * @return Status
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Gibt zurueck, ob das Spiel vorueber ist oder nicht
+	 *
+	 * @return Wahrheitswert, ob das Spiel beendet ist
+	 */
+	public boolean isGameOver() {
+		return gameOver;
+	}
+}
@@ -0,0 +1,227 @@
+package psynthesispp;
+
+import java.util.Arrays;
+
+/**
+ * Hashtabelle mit offener Adressierung (lineares Sondieren) von Feldindizes auf int-Werte.
+ * Speicher und Kosten haengen nur von der Anzahl der Eintraege ab, nicht von der Spielbrettgroesse.
+ * Wird von SparseSpielbrett fuer Baeume und benutzte Felder verwendet.
+ *
+ * @author evgen
+ */
+final class CellTable {
+
+	/** Rueckgabewert von get fuer Felder ohne Eintrag */
+	static final int NONE = -1;
+
+	private static final int FREE = -1;
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+
+	/**
+	 * Erstellt eine leere Tabelle
+	 */
+	CellTable() {
+		allocate(MIN_CAPACITY);
+	}
+
+	/**
+	 * Erstellt eine Kopie der Tabelle
+	 *
+	 * @param original zu kopierende Tabelle
+	 */
+	CellTable(CellTable original) {
+		keys = original.keys.clone();
+		values = original.values.clone();
+		mask = original.mask;
+		size = original.size;
+	}
+
+	/**
+	 * Gibt die Anzahl der Eintraege zurueck
+	 *
+	 * @return Anzahl der Eintraege
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Gibt die Anzahl der Plaetze zurueck (fuer die Iteration mit keyAt und valueAt)
+	 *
+	 * @return Anzahl der Plaetze
+	 */
+	int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * Gibt den Feldindex auf dem Platz zurueck
+	 *
+	 * @param slot Platz
+	 * @return Feldindex oder NONE, falls der Platz frei ist
+	 */
+	int keyAt(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * Gibt den Wert auf dem Platz zurueck
+	 *
+	 * @param slot Platz
+	 * @return Wert
+	 */
+	int valueAt(int slot) {
+		return values[slot];
+	}
+
+	/**
+	 * Gibt den Wert zum Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Wert oder NONE, falls das Feld keinen Eintrag hat
+	 */
+	int get(int cell) {
+		for (int slot = slotOf(cell); ; slot = (slot + 1) & mask) {
+			int key = keys[slot];
+
+			if (key == cell)
+				return values[slot];
+
+			if (key == FREE)
+				return NONE;
+		}
+	}
+
+	/**
+	 * Gibt zurueck, ob das Feld einen Eintrag hat
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld einen Eintrag hat
+	 */
+	boolean contains(int cell) {
+		return get(cell) != NONE;
+	}
+
+	/**
+	 * Setzt den Wert zum Feld
+	 *
+	 * @param cell Feldindex (nicht negativ)
+	 * @param value Wert (nicht NONE)
+	 */
+	void put(int cell, int value) {
+		int slot = slotOf(cell);
+
+		while (keys[slot] != FREE) {
+			if (keys[slot] == cell) {
+				values[slot] = value;
+				return;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = cell;
+		values[slot] = value;
+		size++;
+
+		if (2 * size > keys.length)
+			rehash(keys.length * 2);
+	}
+
+	/**
+	 * Entfernt den Eintrag des Feldes. Die folgenden Eintraege werden zurueckgeschoben, damit keine
+	 * Grabsteine entstehen.
+	 *
+	 * @param cell Feldindex
+	 */
+	void remove(int cell) {
+		int slot = slotOf(cell);
+
+		while (keys[slot] != cell) {
+			if (keys[slot] == FREE)
+				return;
+
+			slot = (slot + 1) & mask;
+		}
+
+		size--;
+
+		int next = slot;
+
+		while (true) {
+			next = (next + 1) & mask;
+
+			if (keys[next] == FREE)
+				break;
+
+			int home = slotOf(keys[next]);
+
+			//Eintrag darf nur zurueck, wenn sein Heimatplatz nicht zwischen der Luecke und ihm liegt
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				slot = next;
+			}
+		}
+
+		keys[slot] = FREE;
+	}
+
+	/**
+	 * Entfernt alle Eintraege
+	 */
+	void clear() {
+		if (size == 0)
+			return;
+
+		Arrays.fill(keys, FREE);
+		size = 0;
+	}
+
+	/**
+	 * Gibt den Heimatplatz des Feldes zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Platz
+	 */
+	private int slotOf(int cell) {
+		int h = cell * 0x9E3779B9;
+
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * Legt leere Arrays mit der uebergebenen Anzahl an Plaetzen an
+	 *
+	 * @param capacity Anzahl der Plaetze (Zweierpotenz)
+	 */
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		size = 0;
+		Arrays.fill(keys, FREE);
+	}
+
+	/**
+	 * Vergroessert die Tabelle und fuegt alle Eintraege neu ein
+	 *
+	 * @param capacity neue Anzahl an Plaetzen (Zweierpotenz)
+	 */
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+
+		allocate(capacity);
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE)
+				put(oldKeys[i], oldValues[i]);
+		}
+	}
+}
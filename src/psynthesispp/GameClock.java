@@ -0,0 +1,137 @@
+package psynthesispp;
+
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.Viewer;
+
+/**
+ * Verwaltet das Zeitbudget eines suchenden Spielers fuer ein ganzes Spiel. Das Spiel endet nach einer festen
+ * Anzahl an Runden (RuleTables.NUM_SUN_REVOLUTIONS Sonnenumlaeufe mit je RuleTables.NUM_SUN_POSITIONS
+ * Positionen), pro Runde fragt jeder Spieler einen Aktivieren-, Pflanzen- und Wachsen-Zug an. Die verbleibende
+ * Zeit wird nach diesen noch ausstehenden Anfragen aufgeteilt, gewichtet nach Phase. Zeit, die eine Anfrage
+ * nicht verbraucht (z.B. weil ein Zug frueh klar dominiert), steht den spaeteren Anfragen zur Verfuegung.
+ *
+ * @author evgen
+ */
+public class GameClock {
+
+	/** Gewicht einer Aktivieren-Anfrage */
+	private static final double ACTIVATE_WEIGHT = 1.0;
+
+	/** Gewicht einer Pflanzen-Anfrage (bestimmt, wo neue Baeume wachsen, und ist am wichtigsten) */
+	private static final double PLANT_WEIGHT = 2.0;
+
+	/** Gewicht einer Wachsen-Anfrage */
+	private static final double GROW_WEIGHT = 1.5;
+
+	/** Mindestanzahl an Spielen pro Kandidat, bevor ein Zug als dominierend gilt */
+	private static final int MIN_DOMINANCE_GAMES = 8;
+
+	/** Anzahl Standardfehler, um die der beste Kandidat vor dem zweitbesten liegen muss */
+	private static final double DOMINANCE_Z = 2.5;
+
+	private long remainingMillis;
+
+	/**
+	 * Erstellt eine Uhr mit dem Zeitbudget fuer ein Spiel
+	 *
+	 * @param gameBudgetMillis Zeitbudget fuer alle Anfragen eines Spielers in einem Spiel in Millisekunden
+	 */
+	public GameClock(long gameBudgetMillis) {
+		this.remainingMillis = gameBudgetMillis;
+	}
+
+	/**
+	 * Gibt die verbleibende Zeit zurueck
+	 *
+	 * @return verbleibende Zeit in Millisekunden
+	 */
+	public long getRemaining() {
+		return remainingMillis;
+	}
+
+	/**
+	 * Gibt die Anzahl der verbleibenden Runden einschliesslich der aktuellen zurueck
+	 *
+	 * @param viewer Spielstand
+	 * @return Anzahl der verbleibenden Runden
+	 */
+	public static int getRemainingRounds(Viewer viewer) {
+		int rounds = (RuleTables.NUM_SUN_REVOLUTIONS - viewer.getSunRevolutions()) * RuleTables.NUM_SUN_POSITIONS
+				- viewer.getSunPos();
+
+		return Math.max(rounds, 1);
+	}
+
+	/**
+	 * Gibt das Gewicht einer Anfrage in der Phase zurueck
+	 *
+	 * @param phase Phase
+	 * @return Gewicht oder 0, falls fuer die Phase keine Suche noetig ist
+	 */
+	private static double getWeight(MoveType phase) {
+		switch (phase) {
+		case Activate:
+			return ACTIVATE_WEIGHT;
+		case Plant:
+			return PLANT_WEIGHT;
+		case Grow:
+			return GROW_WEIGHT;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Teilt der naechsten Anfrage ihren Anteil an der verbleibenden Zeit zu. Der Anteil entspricht dem Gewicht der
+	 * Phase im Verhaeltnis zu den Gewichten aller noch ausstehenden Anfragen dieses Spielers.
+	 *
+	 * @param viewer Spielstand vor der Anfrage
+	 * @param color Spieler, der anfragt
+	 * @return Zeitbudget der Anfrage in Millisekunden (mindestens 1) oder 0, falls fuer die Phase nicht gesucht wird
+	 */
+	public long allocate(Viewer viewer, PlayerColor color) {
+		MoveType phase = viewer.getPhaseOf(color);
+		double weight = getWeight(phase);
+
+		if (weight == 0)
+			return 0;
+
+		double roundWeight = ACTIVATE_WEIGHT + PLANT_WEIGHT + GROW_WEIGHT;
+		double remainingWeight = (getRemainingRounds(viewer) - 1) * roundWeight + weight;
+
+		// restliche Phasen der aktuellen Runde
+		if (phase == MoveType.Activate)
+			remainingWeight += PLANT_WEIGHT + GROW_WEIGHT;
+		else if (phase == MoveType.Plant)
+			remainingWeight += GROW_WEIGHT;
+
+		return Math.max(1, (long) (remainingMillis * weight / remainingWeight));
+	}
+
+	/**
+	 * Zieht die tatsaechlich verbrauchte Zeit einer Anfrage ab
+	 *
+	 * @param usedMillis verbrauchte Zeit in Millisekunden
+	 */
+	public void charge(long usedMillis) {
+		remainingMillis = Math.max(0, remainingMillis - usedMillis);
+	}
+
+	/**
+	 * Prueft, ob der beste Kandidat so klar vor dem zweitbesten liegt, dass weitere Simulationen die Wahl
+	 * nicht mehr aendern wuerden
+	 *
+	 * @param bestMean durchschnittliche Bewertung des besten Kandidaten
+	 * @param secondMean durchschnittliche Bewertung des zweitbesten Kandidaten
+	 * @param stdDev Standardabweichung einer einzelnen Bewertung
+	 * @param games kleinste Anzahl an Spielen der beiden Kandidaten
+	 * @return Wahrheitswert, ob die Suche abgebrochen werden kann
+	 */
+	public static boolean isDominant(double bestMean, double secondMean, double stdDev, int games) {
+		if (games < MIN_DOMINANCE_GAMES)
+			return false;
+
+		return bestMean - secondMean > DOMINANCE_Z * stdDev * Math.sqrt(2.0 / games);
+	}
+}
@@ -22,7 +22,7 @@ public class GameUnit implements Cloneable {
 	 * @param playerOwner Besitzer des Objektes
 	 */
 	public GameUnit(int y, int x, int size, PlayerColor playerOwner) {
-		this.hexagon = new Hexagon(y, x);
+		this.hexagon = Hexagon.of(y, x);
 		this.playerOwner = playerOwner;
 		this.size = size;
 	}
@@ -106,6 +106,15 @@ public class GameUnit implements Cloneable {
 		this.size = size;
 	}
 
+	/**
+	 * Setzt den Besitzer der Pflanze auf der GameUnit (nur fuer Spielbrett.restore)
+	 *
+	 * @param playerOwner Besitzer oder null fuer ein leeres Feld
+	 */
+	void setPlayerOwner(PlayerColor playerOwner) {
+		this.playerOwner = playerOwner;
+	}
+
 	/**
 	 * Erhöhe die Groesse um 1
 	 */
@@ -6,7 +6,12 @@ import psynthesispp.preset.Status;
 import psynthesispp.preset.Viewer;
 
 /**
- * Read-Only Darstellung des Spielbretts
+ * Read-Only Darstellung des Spielbretts.
+ * Eine von Spielbrett.viewer() erzeugte Darstellung teilt sich ihre Daten mit dem Spielbrett und ist nur bis zur
+ * naechsten Veraenderung des Spielbretts gueltig. Danach wirft jeder Getter eine IllegalStateException, statt einen
+ * veralteten oder halb veraenderten Spielstand zurueckzugeben. Was sie herausgibt (Spielfeld, Inventare, ...),
+ * gehoert dem Spielbrett und darf nicht veraendert werden. Wer den Spielstand behalten oder veraendern will,
+ * verwendet Spielbrett.copyViewer().
  *
  * @author Jannik
  */
@@ -27,6 +32,9 @@ public class GameView implements Viewer {
 	private MoveType phaseRed;
 	private MoveType phaseBlue;
 
+	private Spielbrett source;
+	private int generation;
+
 	/**
 	 * DeepCopy der Darstellung des Spielbretts
 	 *
@@ -48,6 +56,33 @@ public class GameView implements Viewer {
 	public GameView(int size, int round, GameUnit[][] gamefield, PlayerColor turnColor,
 			MoveType phaseRed, MoveType phaseBlue, Inventory inventoryRed, Inventory inventoryBlue,
 			Status status, boolean gameOver, int sunPos, int sunRevolutions, int[] numTreesCompleted, boolean[][] usedField) {
+		this(size, round, copyField(gamefield), turnColor, phaseRed, phaseBlue, inventoryRed.clone(), inventoryBlue.clone(),
+				status, gameOver, sunPos, sunRevolutions, numTreesCompleted.clone(), copyUsedField(usedField), null);
+	}
+
+	/**
+	 * Darstellung des Spielbretts, die die uebergebenen Daten ohne Kopie uebernimmt
+	 *
+	 * @param size Spielbrettgroesse
+	 * @param round Runde auf dem Spielbrett
+	 * @param gamefield GameUnits des Spielbretts
+	 * @param turnColor Farbe des Spielers, der momentan an der Reihe ist
+	 * @param phaseRed Phase, in der sich Spieler Rot befindet
+	 * @param phaseBlue Phase, in der sich Spieler Blau befindet
+	 * @param inventoryRed Inventar des roten Spielers
+	 * @param inventoryBlue Inventar des blauen Spielers
+	 * @param status Status des Spielbretts
+	 * @param gameOver Spiel beendet
+	 * @param sunPos momentane Sonnenpositionen
+	 * @param sunRevolutions Anzahl der vergangenen Sonnenumläufe
+	 * @param numTreesCompleted Anzahl der Baeume, die aufgelöst wurden, verteilt auf deren Abstand zur Mitte
+	 * @param usedField in diesem Zug benutzte GameUnits
+	 * @param source Spielbrett, dem die Daten gehoeren, oder null, falls sie der Darstellung selbst gehoeren
+	 */
+	GameView(int size, int round, GameUnit[][] gamefield, PlayerColor turnColor,
+			MoveType phaseRed, MoveType phaseBlue, Inventory inventoryRed, Inventory inventoryBlue,
+			Status status, boolean gameOver, int sunPos, int sunRevolutions, int[] numTreesCompleted, boolean[][] usedField,
+			Spielbrett source) {
 		this.k = size;
 		this.round = round;
 		this.status = status;
@@ -56,17 +91,26 @@ public class GameView implements Viewer {
 		this.phaseRed = phaseRed;
 		this.phaseBlue = phaseBlue;
 		this.turnColor = turnColor;
-		this.usedField = new boolean[usedField.length][usedField[0].length];
-		for (int i = 0; i < usedField.length; i++) {
-			for (int j = 0; j < usedField[i].length; j++) {
-				this.usedField[i][j] = usedField[i][j];
-			}
-		}
+		this.usedField = usedField;
 		this.sunRevolutions = sunRevolutions;
-		this.inventoryRed = inventoryRed.clone();
-		this.inventoryBlue = inventoryBlue.clone();
-		this.numTreesCompleted = numTreesCompleted.clone();
-		this.gamefield = new GameUnit[gamefield.length][gamefield[0].length];
+		this.inventoryRed = inventoryRed;
+		this.inventoryBlue = inventoryBlue;
+		this.numTreesCompleted = numTreesCompleted;
+		this.gamefield = gamefield;
+		this.source = source;
+
+		if (source != null)
+			this.generation = source.getGeneration();
+	}
+
+	/**
+	 * DeepCopy der GameUnits eines Spielfelds
+	 *
+	 * @param gamefield GameUnits
+	 * @return Kopie der GameUnits
+	 */
+	private static GameUnit[][] copyField(GameUnit[][] gamefield) {
+		GameUnit[][] copy = new GameUnit[gamefield.length][gamefield[0].length];
 		for (int i = 0; i < gamefield.length; i++) {
 			for (int j = 0; j < gamefield[i].length; j++) {
 				GameUnit curUnit = gamefield[i][j];
@@ -74,15 +118,34 @@ public class GameView implements Viewer {
 				if (curUnit == null)
 					continue;
 
-				if (curUnit.isTree()) {
-					GameUnit curTree = gamefield[i][j];
-					GameUnit treeCopy = curTree.clone();
-					this.gamefield[i][j] = treeCopy;
-				} else {
-					this.gamefield[i][j] = gamefield[i][j].clone();
-				}
+				copy[i][j] = curUnit.clone();
 			}
 		}
+
+		return copy;
+	}
+
+	/**
+	 * Kopie der benutzten Felder
+	 *
+	 * @param usedField benutzte Felder
+	 * @return Kopie der benutzten Felder
+	 */
+	private static boolean[][] copyUsedField(boolean[][] usedField) {
+		boolean[][] copy = new boolean[usedField.length][];
+		for (int i = 0; i < usedField.length; i++) {
+			copy[i] = usedField[i].clone();
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Wirft eine IllegalStateException, falls das Spielbrett seit dem Erstellen der Darstellung veraendert wurde
+	 */
+	private void checkValid() {
+		if (source != null && source.getGeneration() != generation)
+			throw new IllegalStateException("Spielbrett wurde seit viewer() veraendert, copyViewer() verwenden!");
 	}
 
 	/**
@@ -98,6 +161,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public int getRound() {
+		checkValid();
 		return round;
 	}
 
@@ -106,6 +170,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public int getSunPos() {
+		checkValid();
 		return sunPos;
 	}
 
@@ -114,6 +179,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public Status getStatus() {
+		checkValid();
 		return status;
 	}
 
@@ -122,6 +188,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public boolean isGameOver() {
+		checkValid();
 		return gameOver;
 	}
 
@@ -130,6 +197,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public PlayerColor getTurnColor() {
+		checkValid();
 		return turnColor;
 	}
 
@@ -138,6 +206,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public GameUnit[][] getField() {
+		checkValid();
 		return gamefield;
 	}
 
@@ -146,6 +215,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public int getSunRevolutions() {
+		checkValid();
 		return sunRevolutions;
 	}
 
@@ -154,6 +224,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public boolean[][] getUsedField() {
+		checkValid();
 		return usedField;
 	}
 
@@ -162,6 +233,7 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public int[] getNumTreesCompleted() {
+		checkValid();
 		return numTreesCompleted;
 	}
 
@@ -172,6 +244,8 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public MoveType getPhaseOf(PlayerColor playerColor) {
+		checkValid();
+
 		if (playerColor == PlayerColor.Red)
 			return phaseRed;
 		else
@@ -185,12 +259,23 @@ public class GameView implements Viewer {
 	 */
 	@Override
 	public Inventory getInventoryOf(PlayerColor playerColor) {
+		checkValid();
+
 		if (playerColor == PlayerColor.Red)
 			return inventoryRed;
 		else
 			return inventoryBlue;
 	}
 
+	/**
+	 * Gibt die gemeinsamen Regeltabellen fuer die Spielbrettgroesse zurueck
+	 *
+	 * @return Regeltabellen
+	 */
+	public RuleTables getRules() {
+		return RuleTables.of(k);
+	}
+
 	/**
 	 * Gibt das Inventar des Spielers, der gerade an der Reihe ist, zurueck
 	 *
@@ -219,15 +304,19 @@ public class GameView implements Viewer {
 	 * @return y und x liegen nicht im Bereich des Spielfeld-Arrays oder das Array hat an der Stelle leeren Inhalt
 	 */
 	public boolean isNull(int y, int x) {
+		checkValid();
 		return outOfBounds(y, x) || gamefield[y][x] == null;
 	}
 
 	/**
-	 * Fuegt ein GameUnit-Objekt dem Spielfeld hinzu
+	 * Fuegt ein GameUnit-Objekt dem Spielfeld hinzu. Nur fuer eigene Kopien aus Spielbrett.copyViewer().
 	 *
 	 * @param newTree ein GameUnit-Objekt
 	 */
 	public void addUnit(GameUnit newTree) {
+		if (source != null)
+			throw new IllegalStateException("Geteilte Darstellung kann nicht veraendert werden, copyViewer() verwenden!");
+
 		int treeY = newTree.getY();
 		int treeX = newTree.getX();
 
@@ -1,6 +1,7 @@
 package psynthesispp;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import psynthesispp.preset.Hexagon;
 
@@ -11,13 +12,16 @@ import psynthesispp.preset.Hexagon;
  */
 public class Inventory implements Cloneable {
 
+	/** Anzahl der longs fuer die Bitmenge der gepflanzten Baeume (ein Bit pro Feldindex wie Hexagon.hashCode()) */
+	private static final int PLANTED_TREES_LENGTH = (Hexagon.NEXT_HASH + 63) / 64;
+
 	private int energy = 0;
 	private int points = 0;
 	private int leftPrepareTrees;
 	private int[] activeElements;
 	private int[] passiveElements;
 	private int[] maxPassiveElements;
-	private ArrayList<Hexagon> plantedTrees;
+	private long[] plantedTrees = new long[PLANTED_TREES_LENGTH];
 
 	/**
 	 * Fuellt das Inventar nach Vorgabe
@@ -43,8 +47,6 @@ public class Inventory implements Cloneable {
 			passiveElements[k - i + 1] = i + 1;
 			maxPassiveElements[k - i + 1] = passiveElements[k - i + 1];
 		}
-
-		plantedTrees = new ArrayList<>();
 	}
 
 	/**
@@ -80,7 +82,23 @@ public class Inventory implements Cloneable {
 	 * @param tree neu gepflanzter Baum
 	 */
 	public void addPlantedTree(Hexagon tree) {
-		plantedTrees.add(tree);
+		addPlantedTree(tree.hashCode());
+	}
+
+	/**
+	 * Fuegt einen neuen Baum den gepflanzten Baeumen der Inventar-Einheit hinzu
+	 *
+	 * @param cell Feldindex des Baumes (wie Hexagon.hashCode())
+	 */
+	void addPlantedTree(int cell) {
+		plantedTrees[cell >>> 6] |= 1L << cell;
+	}
+
+	/**
+	 * Entfernt alle Baeume aus den gepflanzten Baeumen der Inventar-Einheit
+	 */
+	void clearPlantedTrees() {
+		Arrays.fill(plantedTrees, 0L);
 	}
 
 	/**
@@ -89,16 +107,73 @@ public class Inventory implements Cloneable {
 	 * @param tree gepflanzter, zu entfernender Baum
 	 */
 	public void removePlantedTree(Hexagon tree) {
-		plantedTrees.remove(tree);
+		removePlantedTree(tree.hashCode());
+	}
+
+	/**
+	 * Entfernt einen Baum aus den gepflanzten Baeumen der Inventar-Einheit
+	 *
+	 * @param cell Feldindex des Baumes (wie Hexagon.hashCode())
+	 */
+	void removePlantedTree(int cell) {
+		plantedTrees[cell >>> 6] &= ~(1L << cell);
+	}
+
+	/**
+	 * Gibt zurueck, ob auf dem Hexagon ein gepflanzter Baum der Inventar-Einheit steht
+	 *
+	 * @param tree Hexagon
+	 * @return Wahrheitswert, ob dort ein eigener Baum steht
+	 */
+	public boolean hasPlantedTree(Hexagon tree) {
+		return hasPlantedTree(tree.hashCode());
+	}
+
+	/**
+	 * Gibt zurueck, ob auf dem Feld ein gepflanzter Baum der Inventar-Einheit steht
+	 *
+	 * @param cell Feldindex (wie Hexagon.hashCode())
+	 * @return Wahrheitswert, ob dort ein eigener Baum steht
+	 */
+	boolean hasPlantedTree(int cell) {
+		return (plantedTrees[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Gibt die Anzahl der gepflanzten Baeume zurueck
+	 *
+	 * @return Anzahl der gepflanzten Baeume
+	 */
+	public int getNumPlantedTrees() {
+		int numTrees = 0;
+
+		for (int i = 0; i < plantedTrees.length; i++) {
+			numTrees += Long.bitCount(plantedTrees[i]);
+		}
+
+		return numTrees;
 	}
 
 	/**
-	 * Gibt die gepflanzten Baeume der Inventar-Einheit zurueck
+	 * Gibt die gepflanzten Baeume der Inventar-Einheit als neue Liste in Feldreihenfolge zurueck
+	 * (Aenderungen an der Liste wirken sich nicht auf das Inventar aus)
 	 *
 	 * @return gepflanzte Baeume
 	 */
 	public ArrayList<Hexagon> getPlantedTrees() {
-		return plantedTrees;
+		ArrayList<Hexagon> trees = new ArrayList<>();
+
+		for (int i = 0; i < plantedTrees.length; i++) {
+			long bits = plantedTrees[i];
+
+			while (bits != 0) {
+				int cell = i * 64 + Long.numberOfTrailingZeros(bits);
+				trees.add(Hexagon.ofHash(cell));
+				bits &= bits - 1;
+			}
+		}
+
+		return trees;
 	}
 
 	/**
@@ -154,6 +229,49 @@ public class Inventory implements Cloneable {
 		return energy;
 	}
 
+	/**
+	 * Gibt die Anzahl der Werte zurueck, die writeState in den Puffer schreibt
+	 *
+	 * @return Anzahl der Werte
+	 */
+	int getStateLength() {
+		return 3 + activeElements.length + passiveElements.length;
+	}
+
+	/**
+	 * Schreibt Energie, Punkte, uebrige Vorbereitungsbaeume sowie aktive und passive Elemente in den Puffer
+	 *
+	 * @param buffer Puffer
+	 * @param offset Startindex im Puffer
+	 * @return Index hinter dem letzten geschriebenen Wert
+	 */
+	int writeState(int[] buffer, int offset) {
+		buffer[offset++] = energy;
+		buffer[offset++] = points;
+		buffer[offset++] = leftPrepareTrees;
+		System.arraycopy(activeElements, 0, buffer, offset, activeElements.length);
+		offset += activeElements.length;
+		System.arraycopy(passiveElements, 0, buffer, offset, passiveElements.length);
+		return offset + passiveElements.length;
+	}
+
+	/**
+	 * Liest die von writeState geschriebenen Werte aus dem Puffer zurueck
+	 *
+	 * @param buffer Puffer
+	 * @param offset Startindex im Puffer
+	 * @return Index hinter dem letzten gelesenen Wert
+	 */
+	int readState(int[] buffer, int offset) {
+		energy = buffer[offset++];
+		points = buffer[offset++];
+		leftPrepareTrees = buffer[offset++];
+		System.arraycopy(buffer, offset, activeElements, 0, activeElements.length);
+		offset += activeElements.length;
+		System.arraycopy(buffer, offset, passiveElements, 0, passiveElements.length);
+		return offset + passiveElements.length;
+	}
+
 	/**
 	 * Gibt DeepCopy des Inventars zurück
 	 *
@@ -161,8 +279,23 @@ public class Inventory implements Cloneable {
 	 */
 	@Override
 	public Inventory clone() {
-		return new Inventory(energy, points, leftPrepareTrees, activeElements, passiveElements, maxPassiveElements, plantedTrees);
-    }
+		return new Inventory(this);
+	}
+
+	/**
+	 * Kopiert das uebergebene Inventar (nur Array-Kopien)
+	 *
+	 * @param other zu kopierendes Inventar
+	 */
+	private Inventory(Inventory other) {
+		this.energy = other.energy;
+		this.points = other.points;
+		this.leftPrepareTrees = other.leftPrepareTrees;
+		this.activeElements = other.activeElements.clone();
+		this.passiveElements = other.passiveElements.clone();
+		this.maxPassiveElements = other.maxPassiveElements.clone();
+		this.plantedTrees = other.plantedTrees.clone();
+	}
 
 	/**
 	 * Kopiert alle in den Parametern übergebene Variablen und Objekte und weist sie sich selber zu
@@ -191,9 +324,8 @@ public class Inventory implements Cloneable {
 		for (int i = 0; i < maxPassiveElements.length; i++) {
 			this.maxPassiveElements[i] = maxPassiveElements[i];
 		}
-		this.plantedTrees = new ArrayList<>();
 		for (int i = 0; i < plantedTrees.size(); i++) {
-			this.plantedTrees.add(new Hexagon(plantedTrees.get(i).getColumn(), plantedTrees.get(i).getRow()));
+			addPlantedTree(plantedTrees.get(i));
 		}
     }
 
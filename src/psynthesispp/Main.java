@@ -1,9 +1,11 @@
 package psynthesispp;
 
 import java.rmi.RemoteException;
+import java.util.Random;
 
 import psynthesispp.player.AdvancedBot;
 import psynthesispp.player.HumanPlayer;
+import psynthesispp.player.MctsBot;
 import psynthesispp.player.RandomBot;
 import psynthesispp.player.SimpleBot;
 import psynthesispp.player.Spieler;
@@ -38,9 +40,13 @@ public class Main {
 	 * @param delayMillis Verzögerung
 	 * @param difficultyRed Schwierigkeitsgrad des roten Spielers
 	 * @param difficultyBlue Schwierigkeitsgrad des blauen Spieler
+	 * @param sharedBoard Wahrheitswert, ob die Spieler das Spielbrett der Spielschleife mitbenutzen
+	 * @param ttMemory Speicherbudget der Transpositionstabelle eines suchenden Spielers in MB
+	 * @param timeBudget Zeitbudget eines AdvancedBot oder MctsBot pro Zug in Millisekunden (0 fuer das Budget der Schwierigkeit)
+	 * @param gameBudget Zeitbudget eines AdvancedBot oder MctsBot pro Spiel in Millisekunden (0 fuer kein Spielbudget)
 	 * @return letzte Spielstand
 	 */
-	public static GameView startGame(int k, PlayerType typeRed, PlayerType typeBlue, PlayerType simTypeRed, PlayerType simTypeBlue, int delayMillis, int difficultyRed, int difficultyBlue) {
+	public static GameView startGame(int k, PlayerType typeRed, PlayerType typeBlue, PlayerType simTypeRed, PlayerType simTypeBlue, int delayMillis, int difficultyRed, int difficultyBlue, boolean sharedBoard, int ttMemory, int timeBudget, int gameBudget) {
 		Spieler player1 = null;
 		Spieler player2 = null;
 
@@ -55,7 +61,16 @@ public class Main {
 			player1 = new SimpleBot(k, PlayerColor.Red);
 			break;
 		case AdvancedAI:
-			player1 = new AdvancedBot(k, PlayerColor.Red, simTypeRed, difficultyRed);
+			if (gameBudget > 0)
+				player1 = new AdvancedBot(k, PlayerColor.Red, simTypeRed, difficultyRed, new GameClock(gameBudget));
+			else
+				player1 = new AdvancedBot(k, PlayerColor.Red, simTypeRed, difficultyRed, timeBudget);
+			break;
+		case EnhancedAI:
+			if (gameBudget > 0)
+				player1 = new MctsBot(k, PlayerColor.Red, simTypeRed, difficultyRed, new TranspositionTable(ttMemory * 1024L * 1024L), new GameClock(gameBudget));
+			else
+				player1 = new MctsBot(k, PlayerColor.Red, simTypeRed, difficultyRed, new TranspositionTable(ttMemory * 1024L * 1024L), timeBudget);
 			break;
 		default:
 			System.out.println("No such Playertype found");
@@ -73,7 +88,16 @@ public class Main {
 			player2 = new SimpleBot(k, PlayerColor.Blue);
 			break;
 		case AdvancedAI:
-			player2 = new AdvancedBot(k, PlayerColor.Blue, simTypeBlue, difficultyBlue);
+			if (gameBudget > 0)
+				player2 = new AdvancedBot(k, PlayerColor.Blue, simTypeBlue, difficultyBlue, new GameClock(gameBudget));
+			else
+				player2 = new AdvancedBot(k, PlayerColor.Blue, simTypeBlue, difficultyBlue, timeBudget);
+			break;
+		case EnhancedAI:
+			if (gameBudget > 0)
+				player2 = new MctsBot(k, PlayerColor.Blue, simTypeBlue, difficultyBlue, new TranspositionTable(ttMemory * 1024L * 1024L), new GameClock(gameBudget));
+			else
+				player2 = new MctsBot(k, PlayerColor.Blue, simTypeBlue, difficultyBlue, new TranspositionTable(ttMemory * 1024L * 1024L), timeBudget);
 			break;
 		default:
 			System.out.println("No such Playertype found");
@@ -85,20 +109,25 @@ public class Main {
 
 		Spielbrett sb = new Spielbrett(k);
 
-		GameView viewer = (GameView)sb.viewer();
+		// alle Spieler laufen in dieser JVM, sie koennen also direkt das Spielbrett der Spielschleife lesen
+		if (sharedBoard) {
+			player1.shareBoard(sb);
+			player2.shareBoard(sb);
+		}
+
+		GameView viewer = null;
 		Status status = Status.Ok;
 		Move curMove = null;
 
-		gameFrame.updateViewer(viewer);
-
 		while(true) {
-			viewer = (GameView)sb.viewer();
+			// die GUI zeichnet im Event-Thread, sie bekommt deshalb eine eigene Kopie pro Zug
+			viewer = sb.copyViewer();
 			gameFrame.updateViewer(viewer);
 
-			if (viewer.getStatus() == Status.RedWin || viewer.getStatus() == Status.BlueWin)
+			if (sb.getStatus() == Status.RedWin || sb.getStatus() == Status.BlueWin)
 				break;
 
-			PlayerColor curColor = viewer.getTurnColor();
+			PlayerColor curColor = sb.getTurnColor();
 			curPlayer = (curColor == PlayerColor.Red) ? player1 : player2;
 			otherPlayer = (curColor == PlayerColor.Red) ? player2 : player1;
 
@@ -113,9 +142,6 @@ public class Main {
 				e.printStackTrace();
 			}
 
-			viewer = (GameView)sb.viewer();
-			gameFrame.updateViewer(viewer);
-
 			sb.make(curMove);
 
 			status = sb.getStatus();
@@ -164,6 +190,10 @@ public class Main {
 		int gamesCounter = 1;
 		int diffRed = 0;
 		int diffBlue = 0;
+		boolean sharedBoard = false;
+		int ttMemory = 16;
+		int timeBudget = 0;
+		int gameBudget = 0;
 
 		try {
 			k = parser.getSize();
@@ -180,6 +210,11 @@ public class Main {
 
 			diffBlue = parser.getDifficultyBlue();
 			simTypeBlue = parser.getSimBlue();
+
+			sharedBoard = parser.isSharedBoard();
+			ttMemory = parser.getTranspositionMemory();
+			timeBudget = parser.getTimeBudget();
+			gameBudget = parser.getGameBudget();
 		} catch (ArgumentParserException e) {
 			e.printStackTrace();
 			System.exit(0);
@@ -190,6 +225,22 @@ public class Main {
 			return;
 		}
 
+		if (ttMemory <= 0) {
+			System.out.println("Zu wenig Speicher fuer die Transpositionstabelle ausgewaehlt!");
+			return;
+		}
+
+		if (k < 1 || k > SparseSpielbrett.MAX_SIZE) {
+			System.out.println("Spielbrettgroesse muss zwischen 1 und " + SparseSpielbrett.MAX_SIZE + " liegen!");
+			return;
+		}
+
+		// groessere Spielbretter gibt es nur als SparseSpielbrett, ohne GUI und mit Zufallszuegen
+		if (k > RuleTables.MAX_SIZE) {
+			playSparseGames(k, gamesCounter);
+			return;
+		}
+
 		numGames = gamesCounter;
 
 		int redWins = 0;
@@ -230,7 +281,7 @@ public class Main {
 
 		for (int i = 0; i < gamesCounter; i++) {
 			curGameNum = i + 1;
-			GameView endGameView = startGame(k, typeRed, typeBlue, simTypeRed, simTypeBlue, delayMillis, diffRed, diffBlue);
+			GameView endGameView = startGame(k, typeRed, typeBlue, simTypeRed, simTypeBlue, delayMillis, diffRed, diffBlue, sharedBoard, ttMemory, timeBudget, gameBudget);
 			Status endGameStatus = endGameView.getStatus();
 
 			if (endGameStatus == Status.RedWin) {
@@ -295,6 +346,38 @@ public class Main {
 		}
 	}
 
+	/**
+	 * Spielt Partien mit Zufallszuegen beider Spieler auf einem SparseSpielbrett ohne GUI und gibt die Ergebnisse aus
+	 *
+	 * @param k Spielbrettgroesse
+	 * @param gamesCounter Anzahl der Spiele
+	 */
+	private static void playSparseGames(int k, int gamesCounter) {
+		System.out.println("Spielbrettgroesse " + k + " wird ohne GUI mit Zufallszuegen beider Spieler gespielt.");
+
+		SparseMoveSampler sampler = new SparseMoveSampler(new Random());
+		int redWins = 0;
+		int blueWins = 0;
+
+		for (int i = 0; i < gamesCounter; i++) {
+			SparseSpielbrett sb = new SparseSpielbrett(k);
+			long start = System.currentTimeMillis();
+			int moves = sampler.playRandomGame(sb);
+			long millis = System.currentTimeMillis() - start;
+
+			if (sb.getStatus() == Status.RedWin)
+				redWins++;
+			else if (sb.getStatus() == Status.BlueWin)
+				blueWins++;
+
+			System.out.println("Spiel " + (i + 1) + ": " + sb.getStatus() + ", Punkte Rot " + sb.getPointsOf(PlayerColor.Red)
+					+ ", Punkte Blau " + sb.getPointsOf(PlayerColor.Blue) + ", " + moves + " Zuege in " + millis + " ms");
+		}
+
+		System.out.println("Rot gewinnt " + redWins + " mal!");
+		System.out.println("Blau gewinnt " + blueWins + " mal!");
+	}
+
 	/**
 	 * Verzögert den Hauptprozess um die angegebenen Millisekunden
 	 *
@@ -0,0 +1,413 @@
+package psynthesispp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.HexagonTuple;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+
+/**
+ * Erzeugt alle regelkonformen Zuege des Spielers, der auf dem Spielbrett an der Reihe ist.
+ * Vorbereitungszuege werden als Liste erzeugt, fuer Aktivierungs-, Pflanz- und Wachstumszuege gibt es
+ * Iteratoren, die die Zuege erst beim Abrufen erzeugen, da deren Anzahl exponentiell wachsen kann.
+ * Es wird nur fuer tatsaechlich zurueckgegebene Zuege ein Move erzeugt.
+ * Jeder Zug wird genau einmal erzeugt: Pflanzpaare und Baeume stehen in aufsteigender Feldreihenfolge,
+ * Aktivierungszuege haben immer k+1 Eintraege. Der erste Zug der Iteratoren ist immer der leere Zug.
+ *
+ * Ein Iterator gilt nur, solange das Spielbrett nicht veraendert wird.
+ *
+ * @author evgen
+ */
+public class MoveGenerator {
+
+	private Spielbrett spielbrett;
+	private RuleTables rules;
+
+	/**
+	 * Erstellt einen Zuggenerator fuer das Spielbrett
+	 *
+	 * @param spielbrett Spielbrett, dessen Zuege erzeugt werden
+	 */
+	public MoveGenerator(Spielbrett spielbrett) {
+		this.spielbrett = spielbrett;
+		this.rules = spielbrett.getRules();
+	}
+
+	/**
+	 * Gibt alle Zuege der aktuellen Phase des Spielers, der an der Reihe ist, zurueck
+	 *
+	 * @return Iterator ueber alle regelkonformen Zuege (leer, falls das Spiel vorbei ist)
+	 */
+	public Iterator<Move> moves() {
+		if (spielbrett.isGameOver())
+			return Collections.<Move>emptyList().iterator();
+
+		switch (spielbrett.getPhaseOf(spielbrett.getTurnColor())) {
+		case Prepare:
+			return generatePrepareMoves().iterator();
+		case Activate:
+			return activateMoves();
+		case Plant:
+			return plantMoves();
+		case Grow:
+			return growMoves();
+		default:
+			return Collections.<Move>emptyList().iterator();
+		}
+	}
+
+	/**
+	 * Erzeugt alle regelkonformen Vorbereitungszuege
+	 *
+	 * @return Liste aller Vorbereitungszuege
+	 */
+	public ArrayList<Move> generatePrepareMoves() {
+		ArrayList<Move> moves = new ArrayList<>();
+
+		for (int cell : rules.getRing(rules.getCenter(), rules.getSize())) {
+			GameUnit unit = spielbrett.getUnit(cell);
+
+			if (!unit.isTree())
+				moves.add(new Move(unit.getHexagon()));
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Gibt die Felder der eigenen Baeume, die in diesem Zug noch nicht benutzt wurden, in Feldreihenfolge zurueck
+	 *
+	 * @param minSize minimale Baumgroesse
+	 * @return Feldindizes der Baeume
+	 */
+	private int[] findUnusedTrees(int minSize) {
+		PlayerColor color = spielbrett.getTurnColor();
+		int[] cells = rules.getCells();
+		int[] trees = new int[cells.length];
+		int numTrees = 0;
+
+		for (int cell : cells) {
+			GameUnit unit = spielbrett.getUnit(cell);
+
+			if (unit.isTree() && unit.getSize() >= minSize && unit.getPlayerOwner() == color && !spielbrett.isUsed(cell))
+				trees[numTrees++] = cell;
+		}
+
+		int[] result = new int[numTrees];
+		System.arraycopy(trees, 0, result, 0, numTrees);
+
+		return result;
+	}
+
+	/**
+	 * Gibt alle Aktivierungszuege zurueck (erst der leere Zug, dann alle Anzahlen ungleich 0 in Zaehlreihenfolge)
+	 *
+	 * @return Iterator ueber alle Aktivierungszuege
+	 */
+	public Iterator<Move> activateMoves() {
+		return new ActivateIterator();
+	}
+
+	/**
+	 * Gibt alle Pflanzzuege zurueck (erst der leere Zug, dann alle nicht leeren Mengen von Pflanzpaaren)
+	 *
+	 * @return Iterator ueber alle Pflanzzuege
+	 */
+	public Iterator<Move> plantMoves() {
+		return new PlantIterator();
+	}
+
+	/**
+	 * Gibt alle Wachstumszuege zurueck (erst der leere Zug, dann alle nicht leeren Mengen von Baeumen)
+	 *
+	 * @return Iterator ueber alle Wachstumszuege
+	 */
+	public Iterator<Move> growMoves() {
+		return new GrowIterator();
+	}
+
+	/**
+	 * Durchlaeuft alle Auswahlvektoren (eine Auswahl pro Position, 0 = nichts gewaehlt) wie ein Zaehlwerk
+	 * mit Abbruch, sobald eine Auswahl nicht mehr regelkonform ist. Die Ressourcen (Energie, Elemente, ...)
+	 * werden beim Setzen und Zuruecknehmen einer Auswahl inkrementell mitgefuehrt.
+	 */
+	private abstract class ChoiceIterator implements Iterator<Move> {
+
+		int[] choices;
+		int[] numOptions;
+		private Move next = new Move(MoveType.Empty);
+
+		/**
+		 * Gibt zurueck, ob die Auswahl an der Position mit dem aktuellen Zustand regelkonform ist
+		 *
+		 * @param pos Position
+		 * @param option Auswahl (groesser 0)
+		 * @return Wahrheitswert, ob die Auswahl moeglich ist
+		 */
+		abstract boolean fits(int pos, int option);
+
+		/**
+		 * Gibt zurueck, ob an der Position keine Auswahl groesser 0 mehr moeglich ist
+		 *
+		 * @param pos Position
+		 * @return Wahrheitswert, ob die Position erschoepft ist
+		 */
+		abstract boolean exhausted(int pos);
+
+		/**
+		 * Setzt eine Auswahl (sign = +1) oder nimmt sie zurueck (sign = -1)
+		 *
+		 * @param pos Position
+		 * @param option Auswahl (groesser 0)
+		 * @param sign Vorzeichen
+		 */
+		abstract void apply(int pos, int option, int sign);
+
+		/**
+		 * Erzeugt den Zug zur aktuellen Auswahl
+		 *
+		 * @return Zug
+		 */
+		abstract Move toMove();
+
+		/**
+		 * Sucht die naechste regelkonforme Auswahl
+		 *
+		 * @return Wahrheitswert, ob es eine weitere Auswahl gibt
+		 */
+		private boolean advance() {
+			for (int pos = choices.length - 1; pos >= 0; pos--) {
+				if (choices[pos] > 0)
+					apply(pos, choices[pos], -1);
+
+				if (!exhausted(pos)) {
+					for (int option = choices[pos] + 1; option <= numOptions[pos]; option++) {
+						if (!fits(pos, option))
+							continue;
+
+						choices[pos] = option;
+						apply(pos, option, +1);
+						return true;
+					}
+				}
+
+				choices[pos] = 0;
+			}
+
+			return false;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Move next() {
+			if (next == null)
+				throw new NoSuchElementException();
+
+			Move move = next;
+			next = advance() ? toMove() : null;
+
+			return move;
+		}
+	}
+
+	/**
+	 * Aktivierungszuege: Position i ist die Elementgroesse i, die Auswahl die Anzahl der aktivierten Elemente
+	 */
+	private class ActivateIterator extends ChoiceIterator {
+
+		private int energyLeft;
+		private int[] costs;
+
+		ActivateIterator() {
+			Inventory inventory = spielbrett.getCurrentInventory();
+			int[] passive = inventory.getPassiveInventory();
+
+			energyLeft = inventory.getEnergy();
+			costs = new int[passive.length];
+			choices = new int[passive.length];
+			numOptions = new int[passive.length];
+
+			for (int i = 0; i < passive.length; i++) {
+				costs[i] = rules.getActivationCost(i, passive[i]);
+				numOptions[i] = passive[i];
+			}
+		}
+
+		@Override
+		boolean fits(int pos, int option) {
+			return option * costs[pos] <= energyLeft;
+		}
+
+		@Override
+		boolean exhausted(int pos) {
+			return costs[pos] > energyLeft;
+		}
+
+		@Override
+		void apply(int pos, int option, int sign) {
+			energyLeft -= sign * option * costs[pos];
+		}
+
+		@Override
+		Move toMove() {
+			Integer[] elements = new Integer[choices.length];
+
+			for (int i = 0; i < choices.length; i++) {
+				elements[i] = choices[i];
+			}
+
+			return new Move(elements);
+		}
+	}
+
+	/**
+	 * Pflanzzuege: Position ist ein eigener Baum, die Auswahl das Zielfeld im Abstand der Baumgroesse
+	 */
+	private class PlantIterator extends ChoiceIterator {
+
+		private int[] trees;
+		private int[][] targets;
+		private boolean[] taken = new boolean[Hexagon.NEXT_HASH];
+		private int seedsLeft;
+		private int numSeeds;
+
+		PlantIterator() {
+			Inventory inventory = spielbrett.getCurrentInventory();
+
+			seedsLeft = Math.min(inventory.getEnergy(), inventory.getActiveInventory()[0]);
+			trees = findUnusedTrees(1);
+			targets = new int[trees.length][];
+			choices = new int[trees.length];
+			numOptions = new int[trees.length];
+
+			for (int i = 0; i < trees.length; i++) {
+				int[] ring = rules.getRing(trees[i], spielbrett.getUnit(trees[i]).getSize());
+				int[] free = new int[ring.length];
+				int numFree = 0;
+
+				for (int cell : ring) {
+					if (!spielbrett.getUnit(cell).isTree() && !spielbrett.isUsed(cell))
+						free[numFree++] = cell;
+				}
+
+				targets[i] = new int[numFree];
+				System.arraycopy(free, 0, targets[i], 0, numFree);
+				numOptions[i] = numFree;
+			}
+		}
+
+		@Override
+		boolean fits(int pos, int option) {
+			return !taken[targets[pos][option - 1]];
+		}
+
+		@Override
+		boolean exhausted(int pos) {
+			return seedsLeft <= 0;
+		}
+
+		@Override
+		void apply(int pos, int option, int sign) {
+			taken[targets[pos][option - 1]] = sign > 0;
+			seedsLeft -= sign;
+			numSeeds += sign;
+		}
+
+		@Override
+		Move toMove() {
+			HexagonTuple[] tuples = new HexagonTuple[numSeeds];
+			int numTuples = 0;
+
+			for (int i = 0; i < choices.length; i++) {
+				if (choices[i] == 0)
+					continue;
+
+				Hexagon from = spielbrett.getUnit(trees[i]).getHexagon();
+				Hexagon to = spielbrett.getUnit(targets[i][choices[i] - 1]).getHexagon();
+				tuples[numTuples++] = HexagonTuple.of(from, to);
+			}
+
+			return new Move(tuples);
+		}
+	}
+
+	/**
+	 * Wachstumszuege: Position ist ein eigener Baum, Auswahl 1 laesst ihn wachsen
+	 */
+	private class GrowIterator extends ChoiceIterator {
+
+		private int[] trees;
+		private int[] sizes;
+		private int[] activeLeft;
+		private int energyLeft;
+		private int numTrees;
+
+		GrowIterator() {
+			Inventory inventory = spielbrett.getCurrentInventory();
+			int[] active = inventory.getActiveInventory();
+
+			energyLeft = inventory.getEnergy();
+			activeLeft = new int[active.length];
+			System.arraycopy(active, 0, activeLeft, 0, active.length);
+
+			trees = findUnusedTrees(0);
+			sizes = new int[trees.length];
+			choices = new int[trees.length];
+			numOptions = new int[trees.length];
+
+			for (int i = 0; i < trees.length; i++) {
+				sizes[i] = spielbrett.getUnit(trees[i]).getSize();
+				numOptions[i] = 1;
+			}
+		}
+
+		@Override
+		boolean fits(int pos, int option) {
+			int newSize = sizes[pos] + 1;
+
+			//wie in Spielbrett.isGrowable muss nach dem Wachsen noch Energie uebrig sein
+			if (energyLeft - newSize <= 0)
+				return false;
+
+			return newSize >= activeLeft.length || activeLeft[newSize] > 0;
+		}
+
+		@Override
+		boolean exhausted(int pos) {
+			return !fits(pos, 1);
+		}
+
+		@Override
+		void apply(int pos, int option, int sign) {
+			int newSize = sizes[pos] + 1;
+
+			energyLeft -= sign * newSize;
+			numTrees += sign;
+
+			if (newSize < activeLeft.length)
+				activeLeft[newSize] -= sign;
+		}
+
+		@Override
+		Move toMove() {
+			Hexagon[] hexagons = new Hexagon[numTrees];
+			int numHexagons = 0;
+
+			for (int i = 0; i < choices.length; i++) {
+				if (choices[i] > 0)
+					hexagons[numHexagons++] = spielbrett.getUnit(trees[i]).getHexagon();
+			}
+
+			return new Move(hexagons);
+		}
+	}
+}
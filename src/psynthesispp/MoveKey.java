@@ -0,0 +1,199 @@
+package psynthesispp;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import psynthesispp.preset.HexagonFormatException;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+
+/**
+ * Normalform eines Zuges als Schluessel fuer HashSets, Suchtabellen und Zugprotokolle. Zuege, die sich nur in der
+ * Reihenfolge der Paare bzw. Hexagone oder in Nullen am Ende des Aktivieren-Vektors unterscheiden, haben denselben
+ * Schluessel. Die Normalform ist ein gepackter Zug (siehe PackedMove) mit sortierten Werten, der 64-Bit Hashwert
+ * haengt nur von diesen Werten ab und ist damit ueber Programmlaeufe hinweg stabil.
+ * Felder ausserhalb des Koordinatenbereichs werden wie in PackedMove als INVALID gepackt.
+ *
+ * @author evgen
+ */
+public final class MoveKey implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int[] packed;
+	private final long hash;
+
+	/**
+	 * Erstellt den Schluessel aus einem bereits normalisierten gepackten Zug
+	 *
+	 * @param packed normalisierter gepackter Zug (wird uebernommen, nicht kopiert)
+	 */
+	private MoveKey(int[] packed) {
+		this.packed = packed;
+		this.hash = computeHash(packed);
+	}
+
+	/**
+	 * Erstellt den Schluessel eines Zuges
+	 *
+	 * @param move Zug
+	 * @return Schluessel
+	 */
+	public static MoveKey of(Move move) {
+		return new MoveKey(normalize(PackedMove.encode(move)));
+	}
+
+	/**
+	 * Erstellt den Schluessel eines gepackten Zuges
+	 *
+	 * @param packed Puffer
+	 * @param offset Index des Kopfes
+	 * @return Schluessel
+	 */
+	public static MoveKey of(int[] packed, int offset) {
+		return new MoveKey(normalize(Arrays.copyOfRange(packed, offset, offset + PackedMove.getLength(packed, offset))));
+	}
+
+	/**
+	 * Bringt einen gepackten Zug in Normalform: Paare und Hexagone werden sortiert, beim Aktivieren werden
+	 * Nullen am Ende abgeschnitten
+	 *
+	 * @param packed gepackter Zug ab Index 0 (wird sortiert)
+	 * @return normalisierter Zug
+	 */
+	private static int[] normalize(int[] packed) {
+		MoveType type = PackedMove.getType(packed, 0);
+		int count = PackedMove.getCount(packed, 0);
+
+		switch (type) {
+		case Activate:
+			while (count > 0 && packed[count] == 0) {
+				count--;
+			}
+
+			if (count == PackedMove.getCount(packed, 0))
+				return packed;
+
+			int[] trimmed = Arrays.copyOf(packed, 1 + count);
+			trimmed[0] = PackedMove.header(type, count);
+
+			return trimmed;
+		case Plant:
+		case Grow:
+			Arrays.sort(packed, 1, 1 + count);
+			return packed;
+		default:
+			return packed;
+		}
+	}
+
+	/**
+	 * Berechnet den 64-Bit Hashwert der Normalform
+	 *
+	 * @param packed normalisierter Zug
+	 * @return Hashwert
+	 */
+	private static long computeHash(int[] packed) {
+		long h = 0x9E3779B97F4A7C15L;
+
+		for (int i = 0; i < packed.length; i++) {
+			h ^= packed[i] & 0xFFFFFFFFL;
+			h *= 0xBF58476D1CE4E5B9L;
+			h ^= h >>> 31;
+		}
+
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+
+		return h;
+	}
+
+	/**
+	 * Gibt den Zugtyp zurueck
+	 *
+	 * @return Zugtyp
+	 */
+	public MoveType getType() {
+		return PackedMove.getType(packed, 0);
+	}
+
+	/**
+	 * Gibt den stabilen 64-Bit Hashwert zurueck
+	 *
+	 * @return Hashwert
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Schreibt die Normalform als gepackten Zug in den Puffer
+	 *
+	 * @param buffer Puffer, der mindestens getLength() Werte ab dem Offset fasst
+	 * @param offset Index des Kopfes
+	 * @return Index hinter dem letzten geschriebenen Wert
+	 */
+	public int writeTo(int[] buffer, int offset) {
+		System.arraycopy(packed, 0, buffer, offset, packed.length);
+		return offset + packed.length;
+	}
+
+	/**
+	 * Gibt die Laenge der gepackten Normalform zurueck
+	 *
+	 * @return Laenge
+	 */
+	public int getLength() {
+		return packed.length;
+	}
+
+	/**
+	 * Erzeugt den Zug in Normalform
+	 *
+	 * @return Zug
+	 * @throws HexagonFormatException falls der Zug INVALID-Felder enthaelt
+	 */
+	public Move toMove() {
+		return PackedMove.decode(packed, 0);
+	}
+
+	/**
+	 * Gibt den Hashwert fuer HashSets und HashMaps zurueck
+	 *
+	 * @return Hashwert
+	 */
+	@Override
+	public int hashCode() {
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Vergleicht die Normalformen zweier Zuege
+	 *
+	 * @param o anderes Objekt
+	 * @return Wahrheitswert, ob beide Schluessel denselben Zug beschreiben
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+
+		if (!(o instanceof MoveKey))
+			return false;
+
+		MoveKey other = (MoveKey) o;
+
+		return hash == other.hash && Arrays.equals(packed, other.packed);
+	}
+
+	/**
+	 * Gibt die Normalform in String-Form zurueck
+	 *
+	 * @return Schluessel als String
+	 */
+	@Override
+	public String toString() {
+		return getType() + Arrays.toString(Arrays.copyOfRange(packed, 1, packed.length));
+	}
+}
@@ -0,0 +1,298 @@
+package psynthesispp;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.HexagonFormatException;
+import psynthesispp.preset.HexagonTuple;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+
+/**
+ * Kompakte Darstellung eines Zuges als int-Werte, damit Zuege ohne Move-, Hexagon- oder Integer-Objekte
+ * ausgefuehrt, verglichen und in flachen Zuglisten gespeichert werden koennen.
+ * Ein Zug belegt 1 + count Werte ab einem Offset:
+ * <ul>
+ * <li>Kopf: Zugtyp (MoveType.ordinal()) in den unteren TYPE_BITS Bits, darueber die Anzahl count</li>
+ * <li>Prepare: Feldindex des Baumes</li>
+ * <li>Activate: Anzahl der Elemente pro Groesse</li>
+ * <li>Plant: Paar aus Baum- und Samenfeld (tuple(from, to), wie HexagonTuple.hashCode())</li>
+ * <li>Grow: Feldindizes der Baeume</li>
+ * <li>Empty, Surrender, End: keine weiteren Werte</li>
+ * </ul>
+ * Feldindizes sind wie Hexagon.hashCode() spalte * Hexagon.BASE + zeile. Hexagone ausserhalb des
+ * Koordinatenbereichs werden als INVALID gepackt, damit sie beim Ausfuehren als unzulaessig erkannt werden.
+ *
+ * @author evgen
+ */
+public final class PackedMove {
+
+	/** Anzahl der Bits fuer den Zugtyp im Kopf */
+	public static final int TYPE_BITS = 4;
+
+	/** Wert fuer Felder und Paare ausserhalb des Koordinatenbereichs */
+	public static final int INVALID = -1;
+
+	private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+	private static final MoveType[] TYPES = MoveType.values();
+
+	private PackedMove() {
+	}
+
+	/**
+	 * Erzeugt den Kopf eines Zuges
+	 *
+	 * @param type Zugtyp
+	 * @param count Anzahl der folgenden Werte
+	 * @return Kopf
+	 */
+	public static int header(MoveType type, int count) {
+		return (count << TYPE_BITS) | type.ordinal();
+	}
+
+	/**
+	 * Gibt den Zugtyp zurueck
+	 *
+	 * @param packed Puffer
+	 * @param offset Index des Kopfes
+	 * @return Zugtyp
+	 */
+	public static MoveType getType(int[] packed, int offset) {
+		return TYPES[packed[offset] & TYPE_MASK];
+	}
+
+	/**
+	 * Gibt die Anzahl der Werte hinter dem Kopf zurueck
+	 *
+	 * @param packed Puffer
+	 * @param offset Index des Kopfes
+	 * @return Anzahl der Werte
+	 */
+	public static int getCount(int[] packed, int offset) {
+		return packed[offset] >>> TYPE_BITS;
+	}
+
+	/**
+	 * Gibt die Gesamtlaenge des Zuges (Kopf und Werte) zurueck
+	 *
+	 * @param packed Puffer
+	 * @param offset Index des Kopfes
+	 * @return Laenge des Zuges
+	 */
+	public static int getLength(int[] packed, int offset) {
+		return 1 + getCount(packed, offset);
+	}
+
+	/**
+	 * Gibt den Feldindex eines Hexagons zurueck
+	 *
+	 * @param hex Hexagon
+	 * @return Feldindex oder INVALID, falls das Hexagon ausserhalb des Koordinatenbereichs liegt
+	 */
+	public static int cellOf(Hexagon hex) {
+		int column = hex.getColumn();
+		int row = hex.getRow();
+
+		if (column < 0 || column >= Hexagon.BASE || row < 0 || row >= Hexagon.BASE)
+			return INVALID;
+
+		return hex.hashCode();
+	}
+
+	/**
+	 * Packt ein Paar aus Baum- und Samenfeld in einen Wert
+	 *
+	 * @param fromCell Feldindex des Baumes
+	 * @param toCell Feldindex des Samens
+	 * @return gepacktes Paar oder INVALID, falls eines der Felder INVALID ist
+	 */
+	public static int tuple(int fromCell, int toCell) {
+		if (fromCell == INVALID || toCell == INVALID)
+			return INVALID;
+
+		return fromCell * HexagonTuple.BASE + toCell;
+	}
+
+	/**
+	 * Gibt das Baumfeld eines gepackten Paares zurueck
+	 *
+	 * @param tuple gepacktes Paar
+	 * @return Feldindex des Baumes
+	 */
+	public static int getFrom(int tuple) {
+		return tuple / HexagonTuple.BASE;
+	}
+
+	/**
+	 * Gibt das Samenfeld eines gepackten Paares zurueck
+	 *
+	 * @param tuple gepacktes Paar
+	 * @return Feldindex des Samens
+	 */
+	public static int getTo(int tuple) {
+		return tuple % HexagonTuple.BASE;
+	}
+
+	/**
+	 * Gibt die Laenge zurueck, die encode fuer den Zug benoetigt
+	 *
+	 * @param move Zug
+	 * @return Laenge des gepackten Zuges
+	 */
+	public static int getEncodedLength(Move move) {
+		switch (move.getType()) {
+		case Prepare:
+			return 2;
+		case Activate:
+			return 1 + move.getActivate().size();
+		case Plant:
+			return 1 + move.getPlant().size();
+		case Grow:
+			return 1 + move.getGrow().size();
+		default:
+			return 1;
+		}
+	}
+
+	/**
+	 * Packt einen Zug in ein neues Array
+	 *
+	 * @param move Zug
+	 * @return gepackter Zug
+	 */
+	public static int[] encode(Move move) {
+		int[] packed = new int[getEncodedLength(move)];
+		encode(move, packed, 0);
+
+		return packed;
+	}
+
+	/**
+	 * Packt einen Zug in einen Puffer, der mindestens getEncodedLength(move) Werte ab dem Offset fasst
+	 *
+	 * @param move Zug
+	 * @param buffer Puffer
+	 * @param offset Index des Kopfes
+	 * @return Index hinter dem letzten geschriebenen Wert
+	 */
+	public static int encode(Move move, int[] buffer, int offset) {
+		MoveType type = move.getType();
+		int pos = offset + 1;
+
+		switch (type) {
+		case Prepare:
+			buffer[pos++] = cellOf(move.getPrepare());
+			break;
+		case Activate:
+			for (Integer count : move.getActivate()) {
+				buffer[pos++] = count;
+			}
+			break;
+		case Plant:
+			for (HexagonTuple tuple : move.getPlant()) {
+				buffer[pos++] = tuple(cellOf(tuple.getFrom()), cellOf(tuple.getTo()));
+			}
+			break;
+		case Grow:
+			for (Hexagon hex : move.getGrow()) {
+				buffer[pos++] = cellOf(hex);
+			}
+			break;
+		default:
+			break;
+		}
+
+		buffer[offset] = header(type, pos - offset - 1);
+
+		return pos;
+	}
+
+	/**
+	 * Entpackt einen Zug
+	 *
+	 * @param packed gepackter Zug
+	 * @return Zug
+	 */
+	public static Move decode(int[] packed) {
+		return decode(packed, 0);
+	}
+
+	/**
+	 * Entpackt einen Zug aus einem Puffer
+	 *
+	 * @param packed Puffer
+	 * @param offset Index des Kopfes
+	 * @return Zug
+	 * @throws HexagonFormatException falls der Zug INVALID-Felder enthaelt
+	 */
+	public static Move decode(int[] packed, int offset) {
+		MoveType type = getType(packed, offset);
+		int count = getCount(packed, offset);
+		int data = offset + 1;
+
+		switch (type) {
+		case Prepare:
+			return new Move(Hexagon.ofHash(packed[data]));
+		case Activate:
+			Integer[] elements = new Integer[count];
+			for (int i = 0; i < count; i++) {
+				elements[i] = packed[data + i];
+			}
+			return new Move(elements);
+		case Plant:
+			HexagonTuple[] tuples = new HexagonTuple[count];
+			for (int i = 0; i < count; i++) {
+				int tuple = packed[data + i];
+				tuples[i] = HexagonTuple.of(Hexagon.ofHash(getFrom(tuple)), Hexagon.ofHash(getTo(tuple)));
+			}
+			return new Move(tuples);
+		case Grow:
+			Hexagon[] hexagons = new Hexagon[count];
+			for (int i = 0; i < count; i++) {
+				hexagons[i] = Hexagon.ofHash(packed[data + i]);
+			}
+			return new Move(hexagons);
+		default:
+			return new Move(type);
+		}
+	}
+
+	/**
+	 * Vergleicht zwei gepackte Zuege wertweise (die Reihenfolge der Werte zaehlt)
+	 *
+	 * @param packed1 erster Puffer
+	 * @param offset1 Index des ersten Kopfes
+	 * @param packed2 zweiter Puffer
+	 * @param offset2 Index des zweiten Kopfes
+	 * @return Wahrheitswert, ob beide Zuege gleich sind
+	 */
+	public static boolean equals(int[] packed1, int offset1, int[] packed2, int offset2) {
+		int length = getLength(packed1, offset1);
+
+		if (packed2[offset2] != packed1[offset1])
+			return false;
+
+		for (int i = 1; i < length; i++) {
+			if (packed1[offset1 + i] != packed2[offset2 + i])
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Berechnet einen Hashwert passend zu equals
+	 *
+	 * @param packed Puffer
+	 * @param offset Index des Kopfes
+	 * @return Hashwert
+	 */
+	public static int hashCode(int[] packed, int offset) {
+		int length = getLength(packed, offset);
+		int hash = 1;
+
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + packed[offset + i];
+		}
+
+		return hash;
+	}
+}
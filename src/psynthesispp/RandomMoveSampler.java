@@ -0,0 +1,298 @@
+package psynthesispp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.HexagonTuple;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+
+/**
+ * Zieht zufaellig einen regelkonformen Zug fuer die aktuelle Phase des Spielers, der an der Reihe ist.
+ * Jeder Zug kostet hoechstens einen Durchlauf ueber alle Felder (plus die Ringe der eigenen Baeume),
+ * es wird nie geraten und verworfen. Die Verteilung ist fest:
+ * <ul>
+ * <li>Prepare: gleichverteilt ueber alle freien Felder am Rand</li>
+ * <li>Activate: Elementgroessen in zufaelliger Reihenfolge, die Anzahl pro Groesse gleichverteilt zwischen 0 und
+ * der noch bezahlbaren Anzahl</li>
+ * <li>Plant: eigene Baeume in zufaelliger Reihenfolge, jeder pflanzt mit Wahrscheinlichkeit selectProbability einen
+ * Samen auf ein gleichverteilt gewaehltes freies Feld im Abstand seiner Groesse, solange Samen und Energie reichen</li>
+ * <li>Grow: eigene Baeume in zufaelliger Reihenfolge, jeder waechst mit Wahrscheinlichkeit selectProbability,
+ * falls Energie und aktive Elemente reichen</li>
+ * </ul>
+ * Wird nichts ausgewaehlt, ist das Ergebnis der leere Zug.
+ *
+ * @author evgen
+ */
+public class RandomMoveSampler {
+
+	private Random random;
+	private double selectProbability = 0.5;
+
+	private int[] trees = new int[Hexagon.NEXT_HASH];
+	private int[] targets = new int[Hexagon.NEXT_HASH];
+	private int[] taken = new int[Hexagon.NEXT_HASH];
+	private int generation;
+
+	/**
+	 * Erstellt einen Sampler mit dem uebergebenen Zufallsgenerator
+	 *
+	 * @param random Zufallsgenerator fuer alle Entscheidungen
+	 */
+	public RandomMoveSampler(Random random) {
+		this.random = random;
+	}
+
+	/**
+	 * Setzt die Wahrscheinlichkeit, mit der ein Baum beim Pflanzen oder Wachsen ausgewaehlt wird
+	 *
+	 * @param selectProbability Wahrscheinlichkeit zwischen 0 und 1
+	 */
+	public void setSelectProbability(double selectProbability) {
+		this.selectProbability = selectProbability;
+	}
+
+	/**
+	 * Zieht einen regelkonformen Zug fuer die Phase des Spielers, der auf dem Spielbrett an der Reihe ist
+	 *
+	 * @param spielbrett Spielbrett
+	 * @return zufaelliger regelkonformer Zug
+	 */
+	public Move sample(SimulationBoard spielbrett) {
+		if (spielbrett.isGameOver())
+			return new Move(MoveType.Empty);
+
+		switch (spielbrett.getPhaseOf(spielbrett.getTurnColor())) {
+		case Prepare:
+			return samplePrepare(spielbrett);
+		case Activate:
+			return sampleActivate(spielbrett);
+		case Plant:
+			return samplePlant(spielbrett);
+		case Grow:
+			return sampleGrow(spielbrett);
+		default:
+			return new Move(MoveType.Empty);
+		}
+	}
+
+	/**
+	 * Zieht einen Vorbereitungszug gleichverteilt (Reservoir-Sampling ueber den Rand)
+	 *
+	 * @param spielbrett Spielbrett
+	 * @return Vorbereitungszug oder leerer Zug, falls kein Feld frei ist
+	 */
+	private Move samplePrepare(SimulationBoard spielbrett) {
+		RuleTables rules = spielbrett.getRules();
+		int chosen = -1;
+		int numFree = 0;
+
+		for (int cell : rules.getRing(rules.getCenter(), rules.getSize())) {
+			if (spielbrett.isTree(cell))
+				continue;
+
+			numFree++;
+
+			if (random.nextInt(numFree) == 0)
+				chosen = cell;
+		}
+
+		if (chosen < 0)
+			return new Move(MoveType.Empty);
+
+		return new Move(Hexagon.ofHash(chosen));
+	}
+
+	/**
+	 * Zieht einen Aktivierungszug
+	 *
+	 * @param spielbrett Spielbrett
+	 * @return Aktivierungszug oder leerer Zug
+	 */
+	private Move sampleActivate(SimulationBoard spielbrett) {
+		RuleTables rules = spielbrett.getRules();
+		PlayerColor color = spielbrett.getTurnColor();
+		int[] passive = spielbrett.getPassiveElementsOf(color);
+		int energyLeft = spielbrett.getEnergyOf(color);
+
+		int[] order = trees;
+		for (int i = 0; i < passive.length; i++) {
+			order[i] = i;
+		}
+		shuffle(order, passive.length);
+
+		Integer[] elements = new Integer[passive.length];
+		boolean activated = false;
+
+		for (int i = 0; i < passive.length; i++) {
+			int size = order[i];
+			int cost = rules.getActivationCost(size, passive[size]);
+			int maxCount = Math.min(passive[size], energyLeft / cost);
+			int count = (maxCount > 0) ? random.nextInt(maxCount + 1) : 0;
+
+			elements[size] = count;
+			energyLeft -= count * cost;
+			activated |= count > 0;
+		}
+
+		if (!activated)
+			return new Move(MoveType.Empty);
+
+		return new Move(elements);
+	}
+
+	/**
+	 * Zieht einen Pflanzzug
+	 *
+	 * @param spielbrett Spielbrett
+	 * @return Pflanzzug oder leerer Zug
+	 */
+	private Move samplePlant(SimulationBoard spielbrett) {
+		RuleTables rules = spielbrett.getRules();
+		PlayerColor color = spielbrett.getTurnColor();
+		int seedsLeft = Math.min(spielbrett.getEnergyOf(color), spielbrett.getActiveElementsOf(color)[0]);
+		int numTrees = collectUnusedTrees(spielbrett, 1);
+		int numTuples = 0;
+
+		nextGeneration();
+
+		for (int i = 0; i < numTrees && seedsLeft > 0; i++) {
+			if (random.nextDouble() >= selectProbability)
+				continue;
+
+			int tree = trees[i];
+			int chosen = -1;
+			int numFree = 0;
+
+			for (int cell : rules.getRing(tree, spielbrett.getTreeSize(tree))) {
+				if (taken[cell] == generation || spielbrett.isTree(cell) || spielbrett.isUsed(cell))
+					continue;
+
+				numFree++;
+
+				if (random.nextInt(numFree) == 0)
+					chosen = cell;
+			}
+
+			if (chosen < 0)
+				continue;
+
+			taken[chosen] = generation;
+			trees[numTuples] = tree;
+			targets[numTuples] = chosen;
+			numTuples++;
+			seedsLeft--;
+		}
+
+		if (numTuples == 0)
+			return new Move(MoveType.Empty);
+
+		HexagonTuple[] tuples = new HexagonTuple[numTuples];
+
+		for (int i = 0; i < numTuples; i++) {
+			tuples[i] = HexagonTuple.of(Hexagon.ofHash(trees[i]), Hexagon.ofHash(targets[i]));
+		}
+
+		return new Move(tuples);
+	}
+
+	/**
+	 * Zieht einen Wachstumszug
+	 *
+	 * @param spielbrett Spielbrett
+	 * @return Wachstumszug oder leerer Zug
+	 */
+	private Move sampleGrow(SimulationBoard spielbrett) {
+		PlayerColor color = spielbrett.getTurnColor();
+		int[] active = spielbrett.getActiveElementsOf(color);
+		int energyLeft = spielbrett.getEnergyOf(color);
+		int numTrees = collectUnusedTrees(spielbrett, 0);
+		int numGrown = 0;
+
+		int[] activeLeft = targets;
+		System.arraycopy(active, 0, activeLeft, 0, active.length);
+
+		for (int i = 0; i < numTrees; i++) {
+			if (random.nextDouble() >= selectProbability)
+				continue;
+
+			int newSize = spielbrett.getTreeSize(trees[i]) + 1;
+
+			//wie in Spielbrett.isGrowable muss nach dem Wachsen noch Energie uebrig sein
+			if (energyLeft - newSize <= 0)
+				continue;
+
+			if (newSize < active.length) {
+				if (activeLeft[newSize] <= 0)
+					continue;
+
+				activeLeft[newSize]--;
+			}
+
+			energyLeft -= newSize;
+			trees[numGrown++] = trees[i];
+		}
+
+		if (numGrown == 0)
+			return new Move(MoveType.Empty);
+
+		Hexagon[] hexagons = new Hexagon[numGrown];
+
+		for (int i = 0; i < numGrown; i++) {
+			hexagons[i] = Hexagon.ofHash(trees[i]);
+		}
+
+		return new Move(hexagons);
+	}
+
+	/**
+	 * Sammelt die in diesem Zug noch unbenutzten eigenen Baeume in zufaelliger Reihenfolge im Puffer trees
+	 *
+	 * @param spielbrett Spielbrett
+	 * @param minSize minimale Baumgroesse
+	 * @return Anzahl der gesammelten Baeume
+	 */
+	private int collectUnusedTrees(SimulationBoard spielbrett, int minSize) {
+		PlayerColor color = spielbrett.getTurnColor();
+		int numTrees = 0;
+
+		for (int cell : spielbrett.getRules().getCells()) {
+			if (spielbrett.isTree(cell) && spielbrett.getTreeSize(cell) >= minSize && spielbrett.getTreeOwner(cell) == color
+					&& !spielbrett.isUsed(cell))
+				trees[numTrees++] = cell;
+		}
+
+		shuffle(trees, numTrees);
+
+		return numTrees;
+	}
+
+	/**
+	 * Mischt die ersten length Eintraege des Arrays (Fisher-Yates)
+	 *
+	 * @param values Array
+	 * @param length Anzahl der zu mischenden Eintraege
+	 */
+	private void shuffle(int[] values, int length) {
+		for (int i = length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = values[i];
+			values[i] = values[j];
+			values[j] = tmp;
+		}
+	}
+
+	/**
+	 * Beginnt eine neue Markierungsgeneration, damit das Markierungsarray nicht geleert werden muss
+	 */
+	private void nextGeneration() {
+		generation++;
+
+		if (generation == Integer.MAX_VALUE) {
+			Arrays.fill(taken, 0);
+			generation = 1;
+		}
+	}
+}
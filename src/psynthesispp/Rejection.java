@@ -0,0 +1,182 @@
+package psynthesispp;
+
+import java.util.ArrayList;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.HexagonTuple;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+
+/**
+ * Maschinenlesbarer Grund, warum ein Zug nicht regelkonform ist (siehe Spielbrett.validate und
+ * Spielbrett.getLastRejection). Enthaelt den Zugtyp, die Ursache, den Index des fehlerhaften Elementes
+ * (Hexagon, Paar oder Elementgroesse) und das betroffene Feld, damit Bots den Zug gezielt reparieren koennen.
+ *
+ * @author evgen
+ */
+public class Rejection {
+
+	/**
+	 * Ursache einer Ablehnung
+	 */
+	public enum Reason {
+		/** Zug ist null */
+		InvalidMove,
+		/** Spiel ist bereits beendet */
+		GameOver,
+		/** Zugtyp passt nicht zur Phase des Spielers */
+		WrongPhase,
+		/** Feld liegt nicht auf dem Spielbrett */
+		InvalidCell,
+		/** Feld traegt keine eigene Pflanze */
+		NotOwnTree,
+		/** Zielfeld ist nicht leer */
+		Occupied,
+		/** Abstand stimmt nicht (Rand beim Vorbereiten, Baumgroesse beim Pflanzen) */
+		WrongDistance,
+		/** Feld wurde in dieser Runde oder im selben Zug schon benutzt */
+		UsedField,
+		/** Energie reicht ab diesem Element nicht mehr */
+		NotEnoughEnergy,
+		/** Aktive bzw. passive Elemente reichen ab diesem Element nicht mehr */
+		NotEnoughElements,
+		/** Zug hat mehr Eintraege als es Elementgroessen gibt */
+		TooManyElements
+	}
+
+	private final MoveType type;
+	private final Reason reason;
+	private final int index;
+	private final int cell;
+
+	/**
+	 * Erstellt eine Ablehnung
+	 *
+	 * @param type Zugtyp (null, falls der Zug null ist)
+	 * @param reason Ursache
+	 * @param index Index des fehlerhaften Elementes oder -1, falls der ganze Zug betroffen ist
+	 * @param cell Feldindex (wie Hexagon.hashCode()) des betroffenen Feldes oder -1
+	 */
+	public Rejection(MoveType type, Reason reason, int index, int cell) {
+		this.type = type;
+		this.reason = reason;
+		this.index = index;
+		this.cell = cell;
+	}
+
+	/**
+	 * Gibt den Zugtyp zurueck
+	 *
+	 * @return Zugtyp
+	 */
+	public MoveType getType() {
+		return type;
+	}
+
+	/**
+	 * Gibt die Ursache zurueck
+	 *
+	 * @return Ursache
+	 */
+	public Reason getReason() {
+		return reason;
+	}
+
+	/**
+	 * Gibt den Index des fehlerhaften Elementes zurueck
+	 *
+	 * @return Index oder -1, falls der ganze Zug betroffen ist
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Gibt das betroffene Feld zurueck
+	 *
+	 * @return Hexagon oder null, falls kein Feld betroffen ist
+	 */
+	public Hexagon getHexagon() {
+		return (cell >= 0 && cell < Hexagon.NEXT_HASH) ? Hexagon.ofHash(cell) : null;
+	}
+
+	/**
+	 * Gibt zurueck, ob sich der Zug durch Entfernen oder Kuerzen von Elementen reparieren laesst
+	 *
+	 * @return Wahrheitswert, ob repair einen neuen Zug liefert
+	 */
+	public boolean isRepairable() {
+		return index >= 0 && (type == MoveType.Activate || type == MoveType.Plant || type == MoveType.Grow);
+	}
+
+	/**
+	 * Repariert den abgelehnten Zug: Bei fehlender Energie bzw. fehlenden Elementen werden alle Elemente ab dem
+	 * Index entfernt (beim Aktivieren auf 0 gesetzt), sonst nur das fehlerhafte Element. Der reparierte Zug kann
+	 * erneut abgelehnt werden, dann wird weiter repariert. Bleibt nichts uebrig, ist das Ergebnis der leere Zug.
+	 *
+	 * @param move abgelehnter Zug
+	 * @return reparierter Zug oder null, falls isRepairable() falsch ist
+	 */
+	public Move repair(Move move) {
+		if (!isRepairable() || move.getType() != type)
+			return null;
+
+		boolean truncate = reason == Reason.NotEnoughEnergy || reason == Reason.NotEnoughElements
+				|| reason == Reason.TooManyElements;
+
+		switch (type) {
+		case Activate:
+			ArrayList<Integer> activate = move.getActivate();
+			int length = (reason == Reason.TooManyElements) ? index : activate.size();
+			Integer[] elements = new Integer[length];
+			boolean activated = false;
+
+			for (int i = 0; i < length; i++) {
+				elements[i] = (i == index || (truncate && i > index)) ? 0 : activate.get(i);
+				activated |= elements[i] != 0;
+			}
+
+			return activated ? new Move(elements) : new Move(MoveType.Empty);
+		case Plant:
+			ArrayList<HexagonTuple> plant = new ArrayList<>(move.getPlant());
+			removeFrom(plant, truncate);
+
+			return plant.isEmpty() ? new Move(MoveType.Empty) : new Move(plant.toArray(new HexagonTuple[plant.size()]));
+		case Grow:
+			ArrayList<Hexagon> grow = new ArrayList<>(move.getGrow());
+			removeFrom(grow, truncate);
+
+			return grow.isEmpty() ? new Move(MoveType.Empty) : new Move(grow.toArray(new Hexagon[grow.size()]));
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Entfernt das fehlerhafte Element oder alle Elemente ab dem Index aus der Liste
+	 *
+	 * @param list Liste der Elemente
+	 * @param truncate Wahrheitswert, ob alle Elemente ab dem Index entfernt werden
+	 */
+	private void removeFrom(ArrayList<?> list, boolean truncate) {
+		if (index >= list.size())
+			return;
+
+		if (truncate)
+			list.subList(index, list.size()).clear();
+		else
+			list.remove(index);
+	}
+
+	/**
+	 * Gibt die Ablehnung in String-Form zurueck
+	 *
+	 * @return Ablehnung als String
+	 */
+	@Override
+	public String toString() {
+		Hexagon hex = getHexagon();
+
+		return type + " " + reason + ((index >= 0) ? " #" + index : "") + ((hex != null) ? " " + hex : "");
+	}
+}
@@ -0,0 +1,351 @@
+package psynthesispp;
+
+import java.util.ArrayList;
+
+import psynthesispp.preset.Hexagon;
+
+/**
+ * Unveraenderliche, vorberechnete Regeltabellen fuer eine Spielbrettgroesse k (1 bis 5).
+ * Pro Groesse gibt es genau ein Objekt (RuleTables.of(k)), das sich alle Spielbretter, Bots und Ansichten teilen.
+ * Felder werden wie bei Hexagon.hashCode() ueber spalte * Hexagon.BASE + zeile indiziert.
+ *
+ * @author evgen
+ */
+public final class RuleTables {
+
+	/** Kleinste unterstuetzte Spielbrettgroesse */
+	public static final int MIN_SIZE = 1;
+
+	/** Groesste unterstuetzte Spielbrettgroesse */
+	public static final int MAX_SIZE = 5;
+
+	/** Anzahl der Sonnenpositionen */
+	public static final int NUM_SUN_POSITIONS = 6;
+
+	/** Anzahl der Sonnenumlaeufe, nach denen das Spiel endet */
+	public static final int NUM_SUN_REVOLUTIONS = 6;
+
+	/** Anzahl der vorberechneten Punkte pro Abstand zur Mitte */
+	private static final int NUM_COMPLETION_SCORES = 64;
+
+	private static final int sunshineDirYX[][] = {{-1, -1},  {0, -1}, {+1, 0}, {+1, +1},  {0, +1}, {-1, 0}}; //Unten-Links, Links, Oben-Links, Oben-Rechts, Rechts, Unten-Rechts
+
+	private static final RuleTables[] TABLES = new RuleTables[MAX_SIZE + 1];
+
+	static {
+		for (int k = MIN_SIZE; k <= MAX_SIZE; k++) {
+			TABLES[k] = new RuleTables(k);
+		}
+	}
+
+	private final int k;
+	private final int n;
+	private final int center;
+	private final int[] cells;
+	private final boolean[] valid;
+	private final int[] distanceToCenter;
+	private final byte[][] distance;
+	private final int[][][] rings;
+	private final int[][][] shadowRays;
+	private final int[][] completionScores;
+	private final int[][] activationCosts;
+	private final Inventory startInventory;
+
+	/**
+	 * Berechnet alle Tabellen fuer die Spielbrettgroesse
+	 *
+	 * @param k Spielbrettgroesse
+	 */
+	private RuleTables(int k) {
+		this.k = k;
+		this.n = 2 * k + 1;
+		this.center = k * Hexagon.BASE + k;
+
+		valid = new boolean[Hexagon.NEXT_HASH];
+		ArrayList<Integer> cellList = new ArrayList<>();
+
+		for (int y = 0; y < n; y++) {
+			for (int x = 0; x < n; x++) {
+				if (Math.abs(y - x) > k)
+					continue;
+
+				valid[y * Hexagon.BASE + x] = true;
+				cellList.add(y * Hexagon.BASE + x);
+			}
+		}
+
+		cells = new int[cellList.size()];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = cellList.get(i);
+		}
+
+		distance = new byte[Hexagon.NEXT_HASH][];
+		distanceToCenter = new int[Hexagon.NEXT_HASH];
+		rings = new int[Hexagon.NEXT_HASH][][];
+		shadowRays = new int[Hexagon.NEXT_HASH][][];
+
+		for (int from : cells) {
+			distance[from] = new byte[Hexagon.NEXT_HASH];
+			distanceToCenter[from] = computeDistance(center, from);
+
+			int[] ringSizes = new int[2 * k + 1];
+			for (int to : cells) {
+				int d = computeDistance(from, to);
+				distance[from][to] = (byte) d;
+				ringSizes[d]++;
+			}
+
+			rings[from] = new int[2 * k + 1][];
+			for (int d = 0; d < rings[from].length; d++) {
+				rings[from][d] = new int[ringSizes[d]];
+				ringSizes[d] = 0;
+			}
+			for (int to : cells) {
+				int d = distance[from][to];
+				rings[from][d][ringSizes[d]++] = to;
+			}
+
+			shadowRays[from] = new int[NUM_SUN_POSITIONS][];
+			for (int dir = 0; dir < NUM_SUN_POSITIONS; dir++) {
+				shadowRays[from][dir] = computeRay(from, dir);
+			}
+		}
+
+		completionScores = new int[k + 1][NUM_COMPLETION_SCORES + 1];
+		for (int d = 0; d <= k; d++) {
+			for (int i = 1; i <= NUM_COMPLETION_SCORES; i++) {
+				completionScores[d][i] = computeCompletionScore(d, i);
+			}
+		}
+
+		startInventory = new Inventory(k);
+		int[] maxPassive = startInventory.getMaxPassiveInventory();
+		activationCosts = new int[k + 1][];
+		for (int i = 0; i <= k; i++) {
+			activationCosts[i] = new int[maxPassive[i] + 1];
+			for (int passive = 0; passive <= maxPassive[i]; passive++) {
+				activationCosts[i][passive] = computeActivationCost(i, passive, maxPassive[i]);
+			}
+		}
+	}
+
+	/**
+	 * Gibt die gemeinsamen Regeltabellen fuer die Spielbrettgroesse zurueck
+	 *
+	 * @param k Spielbrettgroesse
+	 * @return Regeltabellen der Groesse k
+	 */
+	public static RuleTables of(int k) {
+		if (k < MIN_SIZE || k > MAX_SIZE)
+			throw new IllegalArgumentException("Spielbrettgroesse muss zwischen " + MIN_SIZE + " und " + MAX_SIZE + " liegen!");
+
+		return TABLES[k];
+	}
+
+	/**
+	 * Berechnet die minimale Distanz zwischen zwei Feldern
+	 *
+	 * @param cell1 erster Feldindex
+	 * @param cell2 zweiter Feldindex
+	 * @return Distanz zwischen beiden Feldern
+	 */
+	private static int computeDistance(int cell1, int cell2) {
+		int diffY = cell2 / Hexagon.BASE - cell1 / Hexagon.BASE;
+		int diffX = cell2 % Hexagon.BASE - cell1 % Hexagon.BASE;
+
+		if (diffX * diffY > 0)
+			return Math.max(Math.abs(diffX), Math.abs(diffY));
+
+		return Math.abs(diffX) + Math.abs(diffY);
+	}
+
+	/**
+	 * Berechnet die Felder, die ein Baum auf dem Feld in Sonnenrichtung verschatten kann (hoechstens k Felder)
+	 *
+	 * @param cell Feldindex des Baumes
+	 * @param dir Richtungsindex der Sonneinstrahlung
+	 * @return Feldindizes in Sonnenrichtung, beginnend beim Nachbarfeld
+	 */
+	private int[] computeRay(int cell, int dir) {
+		ArrayList<Integer> ray = new ArrayList<>();
+		int y = cell / Hexagon.BASE;
+		int x = cell % Hexagon.BASE;
+
+		for (int i = 0; i < k; i++) {
+			y += sunshineDirYX[dir][0];
+			x += sunshineDirYX[dir][1];
+
+			if (y < 0 || x < 0 || y >= n || x >= n || !valid[y * Hexagon.BASE + x])
+				break;
+
+			ray.add(y * Hexagon.BASE + x);
+		}
+
+		int[] result = new int[ray.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = ray.get(i);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Berechnet die Energiekosten fuer das Aktivieren eines Elementes
+	 *
+	 * @param size Groesse des Elementes (0 fuer Samen)
+	 * @param passive Anzahl der passiven Elemente dieser Groesse vor dem Aktivieren
+	 * @param maxPassive maximale Anzahl der passiven Elemente dieser Groesse
+	 * @return Energiekosten pro Element
+	 */
+	static int computeActivationCost(int size, int passive, int maxPassive) {
+		return (passive * 2 < maxPassive) ? size + 2 : size + 1;
+	}
+
+	/**
+	 * Berechnet die Punkte beim Aufloesen eines Baumes
+	 *
+	 * @param d Abstand vom mittleren Feld
+	 * @param i Anzahl der aufgeloesten Baeume mit selbem Abstand zum mittleren Feld (inklusive diesem)
+	 * @return Punkte
+	 */
+	static int computeCompletionScore(int d, int i) {
+		if (d <= 1)
+			return 20 - (i - 1) / 2;
+
+		return 22 - 2 * d - (i - 1) / (d + 1);
+	}
+
+	/**
+	 * Gibt die Spielbrettgroesse zurueck
+	 *
+	 * @return Spielbrettgroesse
+	 */
+	public int getSize() {
+		return k;
+	}
+
+	/**
+	 * Gibt den Feldindex der Mitte zurueck
+	 *
+	 * @return Feldindex der Mitte
+	 */
+	public int getCenter() {
+		return center;
+	}
+
+	/**
+	 * Gibt die Indizes aller Felder des Spielbretts zurueck (nicht veraendern)
+	 *
+	 * @return Feldindizes
+	 */
+	public int[] getCells() {
+		return cells;
+	}
+
+	/**
+	 * Gibt den Feldindex zu den Spielfeld-Array-Indizes zurueck oder -1, falls das Feld nicht existiert
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @return Feldindex oder -1
+	 */
+	public int cellOf(int y, int x) {
+		if (y < 0 || x < 0 || y >= n || x >= n)
+			return -1;
+
+		int cell = y * Hexagon.BASE + x;
+
+		return valid[cell] ? cell : -1;
+	}
+
+	/**
+	 * Gibt zurueck, ob der Feldindex zum Spielbrett gehoert
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld existiert
+	 */
+	public boolean isValid(int cell) {
+		return cell >= 0 && cell < valid.length && valid[cell];
+	}
+
+	/**
+	 * Gibt den Abstand des Feldes zur Mitte zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Abstand zur Mitte
+	 */
+	public int getDistanceToCenter(int cell) {
+		return distanceToCenter[cell];
+	}
+
+	/**
+	 * Gibt den Abstand zwischen zwei Feldern zurueck
+	 *
+	 * @param cell1 erster Feldindex
+	 * @param cell2 zweiter Feldindex
+	 * @return Abstand zwischen beiden Feldern
+	 */
+	public int getDistance(int cell1, int cell2) {
+		return distance[cell1][cell2];
+	}
+
+	/**
+	 * Gibt alle Felder mit genau dem Abstand d zum Feld zurueck (nicht veraendern)
+	 *
+	 * @param cell Feldindex
+	 * @param d Abstand (0 bis 2k)
+	 * @return Feldindizes im Abstand d
+	 */
+	public int[] getRing(int cell, int d) {
+		return rings[cell][d];
+	}
+
+	/**
+	 * Gibt die Felder zurueck, die vor dem Baum auf dem Feld in Sonnenrichtung liegen (nicht veraendern).
+	 * Das i-te Feld verschattet den Baum, wenn dort ein Baum mit Groesse groesser i steht.
+	 *
+	 * @param cell Feldindex
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @return Feldindizes, beginnend beim Nachbarfeld
+	 */
+	public int[] getShadowRay(int cell, int sunPos) {
+		return shadowRays[cell][sunPos];
+	}
+
+	/**
+	 * Gibt die Punkte beim Aufloesen eines Baumes zurueck
+	 *
+	 * @param distanceToCenter Abstand vom mittleren Feld
+	 * @param completedTrees Anzahl der aufgeloesten Baeume mit selbem Abstand zum mittleren Feld (inklusive diesem)
+	 * @return Punkte
+	 */
+	public int getCompletionScore(int distanceToCenter, int completedTrees) {
+		if (completedTrees > NUM_COMPLETION_SCORES)
+			return computeCompletionScore(distanceToCenter, completedTrees);
+
+		return completionScores[distanceToCenter][completedTrees];
+	}
+
+	/**
+	 * Gibt die Energiekosten fuer das Aktivieren eines Elementes zurueck
+	 *
+	 * @param size Groesse des Elementes (0 fuer Samen)
+	 * @param passive Anzahl der passiven Elemente dieser Groesse vor dem Aktivieren
+	 * @return Energiekosten pro Element
+	 */
+	public int getActivationCost(int size, int passive) {
+		if (passive < 0 || passive >= activationCosts[size].length)
+			return computeActivationCost(size, passive, getMaxPassiveInventory()[size]);
+
+		return activationCosts[size][passive];
+	}
+
+	/**
+	 * Gibt die maximale Anzahl passiver Elemente zurueck (nicht veraendern)
+	 *
+	 * @return maximale Anzahl passiver Elemente pro Groesse
+	 */
+	public int[] getMaxPassiveInventory() {
+		return startInventory.getMaxPassiveInventory();
+	}
+}
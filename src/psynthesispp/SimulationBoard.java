@@ -0,0 +1,117 @@
+package psynthesispp;
+
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.Playable;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.Status;
+
+/**
+ * Spielbrett, auf dem Simulationen (Zufallspartien bis zum Spielende) laufen. Enthaelt nur die Abfragen, die
+ * RandomMoveSampler und die Auswertung einer Partie brauchen. Felder werden ueber ihren Index
+ * spalte * Hexagon.BASE + zeile (wie Hexagon.hashCode()) angesprochen.
+ * Implementiert von Spielbrett und dem schnelleren BitSpielbrett.
+ *
+ * @author evgen
+ */
+public interface SimulationBoard extends Playable {
+
+	/**
+	 * Gibt den Status zurueck
+	 *
+	 * @return Status
+	 */
+	Status getStatus();
+
+	/**
+	 * Gibt zurueck, ob das Spiel vorueber ist
+	 *
+	 * @return Wahrheitswert, ob das Spiel beendet ist
+	 */
+	boolean isGameOver();
+
+	/**
+	 * Gibt die Farbe des Spielers, der an der Reihe ist, zurueck
+	 *
+	 * @return Farbe des Spielers, der an der Reihe ist
+	 */
+	PlayerColor getTurnColor();
+
+	/**
+	 * Gibt die Phase eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Phase des Spielers
+	 */
+	MoveType getPhaseOf(PlayerColor color);
+
+	/**
+	 * Gibt die gemeinsamen Regeltabellen fuer die Spielbrettgroesse zurueck
+	 *
+	 * @return Regeltabellen
+	 */
+	RuleTables getRules();
+
+	/**
+	 * Gibt zurueck, ob auf einem gueltigen Feld ein Samen oder Baum steht
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld belegt ist
+	 */
+	boolean isTree(int cell);
+
+	/**
+	 * Gibt die Groesse des Baumes auf einem belegten Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Groesse des Baumes
+	 */
+	int getTreeSize(int cell);
+
+	/**
+	 * Gibt den Besitzer des Baumes auf einem belegten Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Besitzer des Baumes
+	 */
+	PlayerColor getTreeOwner(int cell);
+
+	/**
+	 * Gibt zurueck, ob ein gueltiges Feld in diesem Zug bereits benutzt wurde
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld benutzt wurde
+	 */
+	boolean isUsed(int cell);
+
+	/**
+	 * Gibt die Energie eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Energie
+	 */
+	int getEnergyOf(PlayerColor color);
+
+	/**
+	 * Gibt die Punkte eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Punkte
+	 */
+	int getPointsOf(PlayerColor color);
+
+	/**
+	 * Gibt die aktiven Elemente eines Spielers nach Groesse zurueck (nicht veraendern)
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Anzahl der aktiven Elemente pro Groesse
+	 */
+	int[] getActiveElementsOf(PlayerColor color);
+
+	/**
+	 * Gibt die passiven Elemente eines Spielers nach Groesse zurueck (nicht veraendern)
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Anzahl der passiven Elemente pro Groesse
+	 */
+	int[] getPassiveElementsOf(PlayerColor color);
+}
@@ -0,0 +1,309 @@
+package psynthesispp;
+
+import java.util.Random;
+
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+
+/**
+ * Fuehrt zufaellig einen regelkonformen Zug fuer die aktuelle Phase des Spielers, der auf einem SparseSpielbrett an
+ * der Reihe ist, aus. Die Verteilung entspricht der von RandomMoveSampler, die Zuege werden aber ueber Feldindizes
+ * ausgefuehrt (makePrepare, makeActivate, makePlant, makeGrow), damit auch Spielbretter mit k > 5 gespielt werden
+ * koennen. Die Kosten eines Zuges haengen nur von der Anzahl der Baeume ab.
+ *
+ * @author evgen
+ */
+public class SparseMoveSampler {
+
+	private Random random;
+	private double selectProbability = 0.5;
+
+	private int[] trees = new int[16];
+	private int[] targets = new int[16];
+	private int[] ring = new int[16];
+	private CellTable taken = new CellTable();
+
+	/**
+	 * Erstellt einen Sampler mit dem uebergebenen Zufallsgenerator
+	 *
+	 * @param random Zufallsgenerator fuer alle Entscheidungen
+	 */
+	public SparseMoveSampler(Random random) {
+		this.random = random;
+	}
+
+	/**
+	 * Spielt eine Partie mit zufaelligen Zuegen beider Spieler bis zum Ende
+	 *
+	 * @param spielbrett Spielbrett
+	 * @return Anzahl der ausgefuehrten Zuege
+	 */
+	public int playRandomGame(SparseSpielbrett spielbrett) {
+		int moves = 0;
+
+		while (!spielbrett.isGameOver()) {
+			makeRandomMove(spielbrett);
+			moves++;
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Fuehrt einen regelkonformen Zug fuer die Phase des Spielers, der auf dem Spielbrett an der Reihe ist, aus
+	 *
+	 * @param spielbrett Spielbrett
+	 * @throws IllegalStateException falls das Spiel bereits beendet ist
+	 */
+	public void makeRandomMove(SparseSpielbrett spielbrett) throws IllegalStateException {
+		if (spielbrett.isGameOver())
+			throw new IllegalStateException("Spiel bereits beendet!");
+
+		PlayerColor color = spielbrett.getTurnColor();
+		MoveType phase = spielbrett.getPhaseOf(color);
+
+		if (phase == MoveType.Prepare)
+			makePrepare(spielbrett);
+		else if (phase == MoveType.Activate)
+			makeActivate(spielbrett, color);
+		else if (phase == MoveType.Plant)
+			makePlant(spielbrett, color);
+		else if (phase == MoveType.Grow)
+			makeGrow(spielbrett, color);
+		else
+			spielbrett.makeEmpty();
+	}
+
+	/**
+	 * Fuehrt einen gleichverteilten Vorbereitungszug aus (Reservoir-Sampling ueber den Rand)
+	 *
+	 * @param spielbrett Spielbrett
+	 */
+	private void makePrepare(SparseSpielbrett spielbrett) {
+		int k = spielbrett.getSize();
+		int numCells = spielbrett.getRing(spielbrett.getCenter(), k, getRingBuffer(6 * k));
+		int chosen = SparseSpielbrett.INVALID;
+		int numFree = 0;
+
+		for (int i = 0; i < numCells; i++) {
+			if (!spielbrett.isPreparable(ring[i]))
+				continue;
+
+			numFree++;
+
+			if (random.nextInt(numFree) == 0)
+				chosen = ring[i];
+		}
+
+		if (chosen == SparseSpielbrett.INVALID)
+			spielbrett.makeEmpty();
+		else
+			spielbrett.makePrepare(chosen);
+	}
+
+	/**
+	 * Fuehrt einen Aktivierungszug aus
+	 *
+	 * @param spielbrett Spielbrett
+	 * @param color Spieler am Zug
+	 */
+	private void makeActivate(SparseSpielbrett spielbrett, PlayerColor color) {
+		int[] passive = spielbrett.getPassiveInventoryOf(color);
+		int[] maxPassive = spielbrett.getMaxPassiveInventory();
+		int energyLeft = spielbrett.getEnergyOf(color);
+
+		int[] order = getTreeBuffer(passive.length);
+		for (int i = 0; i < passive.length; i++) {
+			order[i] = i;
+		}
+		shuffle(order, passive.length);
+
+		int[] elements = new int[passive.length];
+		boolean activated = false;
+
+		for (int i = 0; i < passive.length; i++) {
+			int size = order[i];
+			int cost = RuleTables.computeActivationCost(size, passive[size], maxPassive[size]);
+			int maxCount = Math.min(passive[size], energyLeft / cost);
+			int count = (maxCount > 0) ? random.nextInt(maxCount + 1) : 0;
+
+			elements[size] = count;
+			energyLeft -= count * cost;
+			activated |= count > 0;
+		}
+
+		if (activated)
+			spielbrett.makeActivate(elements, elements.length);
+		else
+			spielbrett.makeEmpty();
+	}
+
+	/**
+	 * Fuehrt einen Pflanzzug aus
+	 *
+	 * @param spielbrett Spielbrett
+	 * @param color Spieler am Zug
+	 */
+	private void makePlant(SparseSpielbrett spielbrett, PlayerColor color) {
+		int seedsLeft = Math.min(spielbrett.getEnergyOf(color), spielbrett.getActiveInventoryOf(color)[0]);
+		int numTrees = collectUnusedTrees(spielbrett, color, 1);
+		int numPairs = 0;
+
+		getTargetBuffer(numTrees);
+		taken.clear();
+
+		for (int i = 0; i < numTrees && seedsLeft > 0; i++) {
+			if (random.nextDouble() >= selectProbability)
+				continue;
+
+			int tree = trees[i];
+			int size = spielbrett.getTreeSize(tree);
+			int numCells = spielbrett.getRing(tree, size, getRingBuffer(6 * size));
+			int chosen = SparseSpielbrett.INVALID;
+			int numFree = 0;
+
+			for (int j = 0; j < numCells; j++) {
+				int cell = ring[j];
+
+				if (taken.contains(cell) || spielbrett.getTreeSize(cell) >= 0 || spielbrett.isUsed(cell))
+					continue;
+
+				numFree++;
+
+				if (random.nextInt(numFree) == 0)
+					chosen = cell;
+			}
+
+			if (chosen == SparseSpielbrett.INVALID)
+				continue;
+
+			taken.put(chosen, 1);
+			trees[numPairs] = tree;
+			targets[numPairs] = chosen;
+			numPairs++;
+			seedsLeft--;
+		}
+
+		if (numPairs > 0)
+			spielbrett.makePlant(trees, targets, numPairs);
+		else
+			spielbrett.makeEmpty();
+	}
+
+	/**
+	 * Fuehrt einen Wachstumszug aus
+	 *
+	 * @param spielbrett Spielbrett
+	 * @param color Spieler am Zug
+	 */
+	private void makeGrow(SparseSpielbrett spielbrett, PlayerColor color) {
+		int[] activeLeft = spielbrett.getActiveInventoryOf(color).clone();
+		int energyLeft = spielbrett.getEnergyOf(color);
+		int numTrees = collectUnusedTrees(spielbrett, color, 0);
+		int numGrown = 0;
+
+		for (int i = 0; i < numTrees; i++) {
+			if (random.nextDouble() >= selectProbability)
+				continue;
+
+			int newSize = spielbrett.getTreeSize(trees[i]) + 1;
+
+			//wie in SparseSpielbrett.isGrowable muss nach dem Wachsen noch Energie uebrig sein
+			if (energyLeft - newSize <= 0)
+				continue;
+
+			if (newSize < activeLeft.length) {
+				if (activeLeft[newSize] <= 0)
+					continue;
+
+				activeLeft[newSize]--;
+			}
+
+			energyLeft -= newSize;
+			trees[numGrown++] = trees[i];
+		}
+
+		if (numGrown > 0)
+			spielbrett.makeGrow(trees, numGrown);
+		else
+			spielbrett.makeEmpty();
+	}
+
+	/**
+	 * Sammelt die in diesem Zug noch unbenutzten eigenen Baeume in zufaelliger Reihenfolge im Puffer trees
+	 *
+	 * @param spielbrett Spielbrett
+	 * @param color Spieler am Zug
+	 * @param minSize minimale Baumgroesse
+	 * @return Anzahl der gesammelten Baeume
+	 */
+	private int collectUnusedTrees(SparseSpielbrett spielbrett, PlayerColor color, int minSize) {
+		int numOwn = spielbrett.getTrees(color, getTreeBuffer(spielbrett.getNumTrees()));
+		int numTrees = 0;
+
+		for (int i = 0; i < numOwn; i++) {
+			int cell = trees[i];
+
+			if (spielbrett.getTreeSize(cell) >= minSize && !spielbrett.isUsed(cell))
+				trees[numTrees++] = cell;
+		}
+
+		shuffle(trees, numTrees);
+
+		return numTrees;
+	}
+
+	/**
+	 * Gibt den Puffer fuer Baumfelder mit mindestens der Laenge zurueck
+	 *
+	 * @param length Mindestlaenge
+	 * @return Puffer trees
+	 */
+	private int[] getTreeBuffer(int length) {
+		if (trees.length < length)
+			trees = new int[Math.max(length, 2 * trees.length)];
+
+		return trees;
+	}
+
+	/**
+	 * Gibt den Puffer fuer Zielfelder mit mindestens der Laenge zurueck
+	 *
+	 * @param length Mindestlaenge
+	 * @return Puffer targets
+	 */
+	private int[] getTargetBuffer(int length) {
+		if (targets.length < length)
+			targets = new int[Math.max(length, 2 * targets.length)];
+
+		return targets;
+	}
+
+	/**
+	 * Gibt den Puffer fuer Ringfelder mit mindestens der Laenge zurueck
+	 *
+	 * @param length Mindestlaenge
+	 * @return Puffer ring
+	 */
+	private int[] getRingBuffer(int length) {
+		if (ring.length < length)
+			ring = new int[Math.max(length, 2 * ring.length)];
+
+		return ring;
+	}
+
+	/**
+	 * Mischt die ersten length Eintraege des Arrays (Fisher-Yates)
+	 *
+	 * @param values Array
+	 * @param length Anzahl der zu mischenden Eintraege
+	 */
+	private void shuffle(int[] values, int length) {
+		for (int i = length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = values[i];
+			values[i] = values[j];
+			values[j] = tmp;
+		}
+	}
+}
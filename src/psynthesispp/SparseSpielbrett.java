@@ -0,0 +1,1205 @@
+package psynthesispp;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.HexagonTuple;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.Status;
+
+/**
+ * Alternative Spiel-Engine fuer grosse Spielbretter (auch k > 5), deren Speicher und Kosten pro Zug mit der
+ * Anzahl der Baeume statt mit der Anzahl der Felder wachsen.
+ * Ein Feld hat den Index spalte * n + zeile mit n = 2k + 1 (unabhaengig von Hexagon.BASE).
+ * Nur Baeume und benutzte Felder werden gespeichert (jeweils in einer CellTable), Abstaende, Ringe und
+ * Schattenstrahlen werden aus den Koordinaten berechnet, ohne das Spielfeld abzusuchen.
+ * Ein Schattenstrahl wird nur so weit verfolgt, wie der groesste vorhandene Baum Schatten werfen kann.
+ * Die Regeln entsprechen genau denen von Spielbrett.
+ * Da Hexagone nur Koordinaten bis Hexagon.BASE - 1 kennen, werden Zuege ueber Feldindizes ausgefuehrt
+ * (makePrepare, makeActivate, makePlant, makeGrow); make(Move) gibt es fuer Spielbretter bis k = 5.
+ *
+ * @author evgen
+ */
+public class SparseSpielbrett implements Cloneable {
+
+	/** Maximale Spielbrettgroesse, damit jeder Feldindex in einen int passt */
+	public static final int MAX_SIZE = 10000;
+
+	/** Rueckgabewert von cellOf fuer Koordinaten ausserhalb des Spielbretts */
+	public static final int INVALID = -1;
+
+	private static final int RED = 0;
+	private static final int BLUE = 1;
+	private static final int SIZE_MASK = 0xFF;
+	private static final int OWNER_SHIFT = 8;
+
+	private static final int sunshineDirYX[][] = {{-1, -1},  {0, -1}, {+1, 0}, {+1, +1},  {0, +1}, {-1, 0}}; //Unten-Links, Links, Oben-Links, Oben-Rechts, Rechts, Unten-Rechts
+
+	private int n;
+	private int k;
+
+	private Status status;
+	private int round;
+	private int sunPos;
+	private int sunRevolutions;
+	private boolean gameOver;
+	private PlayerColor turnColor;
+	private int[] numTreesCompleted;
+
+	private CellTable trees;
+	private CellTable usedCells;
+	private CellTable marks;
+	private int[] numTreesOfSize;
+
+	private int[] energy;
+	private int[] points;
+	private int[] leftPrepareTrees;
+	private int[][] activeElements;
+	private int[][] passiveElements;
+	private int[] maxPassiveElements;
+	private int[] tmpActiveElements;
+
+	private MoveType phaseRed;
+	private MoveType phaseBlue;
+
+	private int[] moveBuffer = new int[16];
+	private int[] moveBuffer2 = new int[16];
+
+	/**
+	 * Initialisiere Spielbrett mit der uebergebenen Groesse
+	 *
+	 * @param size Groesse des Spielbretts
+	 * @throws IllegalArgumentException falls die Groesse nicht zwischen 1 und MAX_SIZE liegt
+	 */
+	public SparseSpielbrett(int size) throws IllegalArgumentException {
+		if (size < 1 || size > MAX_SIZE)
+			throw new IllegalArgumentException("Spielbrettgroesse muss zwischen 1 und " + MAX_SIZE + " liegen!");
+
+		k = size;
+		n = k * 2 + 1;
+
+		round = 0;
+		sunPos = 0;
+		sunRevolutions = 0;
+		gameOver = false;
+		status = Status.Ok;
+		turnColor = PlayerColor.Red;
+
+		phaseRed = MoveType.Prepare;
+		phaseBlue = MoveType.Prepare;
+
+		trees = new CellTable();
+		usedCells = new CellTable();
+		marks = new CellTable();
+		numTreesOfSize = new int[k + 1];
+
+		Inventory startInventory = new Inventory(k);
+		energy = new int[2];
+		points = new int[2];
+		leftPrepareTrees = new int[] {startInventory.getPrepareTrees(), startInventory.getPrepareTrees()};
+		activeElements = new int[][] {startInventory.getActiveInventory().clone(), startInventory.getActiveInventory().clone()};
+		passiveElements = new int[][] {startInventory.getPassiveInventory().clone(), startInventory.getPassiveInventory().clone()};
+		maxPassiveElements = startInventory.getMaxPassiveInventory().clone();
+		tmpActiveElements = new int[k + 1];
+
+		numTreesCompleted = new int[k + 1];
+	}
+
+	/**
+	 * Gibt DeepCopy des Spielbretts zurueck
+	 *
+	 * @return Kopie des Spielbretts
+	 */
+	@Override
+	public SparseSpielbrett clone() {
+		SparseSpielbrett copy;
+
+		try {
+			copy = (SparseSpielbrett) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+
+		copy.numTreesCompleted = numTreesCompleted.clone();
+		copy.trees = new CellTable(trees);
+		copy.usedCells = new CellTable(usedCells);
+		copy.marks = new CellTable();
+		copy.numTreesOfSize = numTreesOfSize.clone();
+		copy.energy = energy.clone();
+		copy.points = points.clone();
+		copy.leftPrepareTrees = leftPrepareTrees.clone();
+		copy.activeElements = new int[][] {activeElements[RED].clone(), activeElements[BLUE].clone()};
+		copy.passiveElements = new int[][] {passiveElements[RED].clone(), passiveElements[BLUE].clone()};
+		copy.tmpActiveElements = new int[tmpActiveElements.length];
+		copy.moveBuffer = new int[moveBuffer.length];
+		copy.moveBuffer2 = new int[moveBuffer2.length];
+
+		return copy;
+	}
+
+	/**
+	 * Gibt den Farbindex (RED oder BLUE) zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Farbindex
+	 */
+	private static int colorIndex(PlayerColor color) {
+		return (color == PlayerColor.Red) ? RED : BLUE;
+	}
+
+	/**
+	 * Gibt den Feldindex zu den Koordinaten zurueck
+	 *
+	 * @param y Spalte (wie Hexagon.getColumn())
+	 * @param x Zeile (wie Hexagon.getRow())
+	 * @return Feldindex oder INVALID, falls die Koordinaten nicht auf dem Spielbrett liegen
+	 */
+	public int cellOf(int y, int x) {
+		if (y < 0 || x < 0 || y >= n || x >= n || Math.abs(y - x) > k)
+			return INVALID;
+
+		return y * n + x;
+	}
+
+	/**
+	 * Gibt die Spalte des Feldes zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Spalte
+	 */
+	public int getY(int cell) {
+		return cell / n;
+	}
+
+	/**
+	 * Gibt die Zeile des Feldes zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Zeile
+	 */
+	public int getX(int cell) {
+		return cell % n;
+	}
+
+	/**
+	 * Gibt zurueck, ob der Feldindex auf dem Spielbrett liegt
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld existiert
+	 */
+	public boolean isValid(int cell) {
+		return cell >= 0 && cell < n * n && Math.abs(cell / n - cell % n) <= k;
+	}
+
+	/**
+	 * Gibt die Anzahl der Felder des Spielbretts zurueck
+	 *
+	 * @return Anzahl der Felder (3k(k + 1) + 1)
+	 */
+	public int getNumCells() {
+		return 3 * k * (k + 1) + 1;
+	}
+
+	/**
+	 * Gibt das mittlere Feld zurueck
+	 *
+	 * @return Feldindex des mittleren Feldes
+	 */
+	public int getCenter() {
+		return k * n + k;
+	}
+
+	/**
+	 * Gibt den Abstand zwischen zwei Feldern zurueck
+	 *
+	 * @param cell1 erstes Feld
+	 * @param cell2 zweites Feld
+	 * @return Abstand in Feldern
+	 */
+	public int getDistance(int cell1, int cell2) {
+		int diffY = cell2 / n - cell1 / n;
+		int diffX = cell2 % n - cell1 % n;
+
+		if (diffX * diffY > 0)
+			return Math.max(Math.abs(diffX), Math.abs(diffY));
+
+		return Math.abs(diffX) + Math.abs(diffY);
+	}
+
+	/**
+	 * Gibt den Abstand des Feldes zum mittleren Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Abstand zum mittleren Feld
+	 */
+	public int getDistanceToCenter(int cell) {
+		return getDistance(getCenter(), cell);
+	}
+
+	/**
+	 * Schreibt alle Felder des Spielbretts mit dem Abstand d zum Feld in den Puffer (Ring um das Feld).
+	 * Der Ring wird entlang der sechs Seiten abgelaufen, es werden nur seine hoechstens 6d Felder betrachtet.
+	 *
+	 * @param cell Feldindex
+	 * @param d Abstand
+	 * @param buffer Puffer mit mindestens max(1, 6d) Plaetzen
+	 * @return Anzahl der geschriebenen Felder
+	 */
+	public int getRing(int cell, int d, int[] buffer) {
+		int y = cell / n;
+		int x = cell % n;
+
+		if (d == 0) {
+			buffer[0] = cell;
+			return 1;
+		}
+
+		//Start in der Ecke in Richtung 4, jede Seite laeuft zwei Richtungen weiter bis zur naechsten Ecke
+		y += d * sunshineDirYX[4][0];
+		x += d * sunshineDirYX[4][1];
+
+		int count = 0;
+
+		for (int side = 0; side < 6; side++) {
+			int[] dir = sunshineDirYX[(4 + side + 2) % 6];
+
+			for (int i = 0; i < d; i++) {
+				int ringCell = cellOf(y, x);
+
+				if (ringCell != INVALID)
+					buffer[count++] = ringCell;
+
+				y += dir[0];
+				x += dir[1];
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Gibt die Groesse der Pflanze auf dem Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Groesse (0 fuer Samen) oder -1, falls das Feld leer ist
+	 */
+	public int getTreeSize(int cell) {
+		int unit = trees.get(cell);
+
+		return (unit == CellTable.NONE) ? -1 : unit & SIZE_MASK;
+	}
+
+	/**
+	 * Gibt den Besitzer der Pflanze auf dem Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Besitzer oder null, falls das Feld leer ist
+	 */
+	public PlayerColor getOwner(int cell) {
+		int unit = trees.get(cell);
+
+		if (unit == CellTable.NONE)
+			return null;
+
+		return ((unit >>> OWNER_SHIFT) == RED) ? PlayerColor.Red : PlayerColor.Blue;
+	}
+
+	/**
+	 * Gibt zurueck, ob das Feld in diesem Zug schon benutzt wurde
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld benutzt wurde
+	 */
+	public boolean isUsed(int cell) {
+		return usedCells.contains(cell);
+	}
+
+	/**
+	 * Gibt die Anzahl aller Pflanzen (Samen und Baeume) auf dem Spielbrett zurueck
+	 *
+	 * @return Anzahl der Pflanzen
+	 */
+	public int getNumTrees() {
+		return trees.size();
+	}
+
+	/**
+	 * Schreibt die Felder aller Pflanzen des Spielers in den Puffer (in keiner bestimmten Reihenfolge)
+	 *
+	 * @param color Farbe des Spielers
+	 * @param buffer Puffer mit mindestens getNumTrees() Plaetzen
+	 * @return Anzahl der geschriebenen Felder
+	 */
+	public int getTrees(PlayerColor color, int[] buffer) {
+		int c = colorIndex(color);
+		int count = 0;
+
+		for (int slot = 0; slot < trees.capacity(); slot++) {
+			int cell = trees.keyAt(slot);
+
+			if (cell != CellTable.NONE && (trees.valueAt(slot) >>> OWNER_SHIFT) == c)
+				buffer[count++] = cell;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Setzt eine Pflanze auf ein leeres Feld
+	 *
+	 * @param cell Feldindex
+	 * @param size Groesse (0 fuer Samen)
+	 * @param c Farbindex des Besitzers
+	 */
+	private void placeTree(int cell, int size, int c) {
+		trees.put(cell, size | (c << OWNER_SHIFT));
+		numTreesOfSize[size]++;
+	}
+
+	/**
+	 * Setzt die Groesse der Pflanze auf dem Feld
+	 *
+	 * @param cell Feldindex
+	 * @param unit bisheriger Tabelleneintrag des Feldes
+	 * @param size neue Groesse
+	 */
+	private void setTreeSize(int cell, int unit, int size) {
+		numTreesOfSize[unit & SIZE_MASK]--;
+		numTreesOfSize[size]++;
+		trees.put(cell, (unit & ~SIZE_MASK) | size);
+	}
+
+	/**
+	 * Entfernt die Pflanze vom Feld
+	 *
+	 * @param cell Feldindex
+	 * @param unit bisheriger Tabelleneintrag des Feldes
+	 */
+	private void removeTree(int cell, int unit) {
+		numTreesOfSize[unit & SIZE_MASK]--;
+		trees.remove(cell);
+	}
+
+	/**
+	 * Gibt die Groesse des groessten Baumes auf dem Spielbrett zurueck
+	 *
+	 * @return Groesse des groessten Baumes oder 0, falls es keinen gibt
+	 */
+	private int getMaxTreeSize() {
+		for (int size = k; size > 0; size--) {
+			if (numTreesOfSize[size] > 0)
+				return size;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Berechnet die erzeugte Energie der Pflanze auf dem Feld und gibt diese zurueck
+	 *
+	 * @param cell Feldindex
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @return erzeugte Energie
+	 */
+	public int getProducedEnergyOf(int cell, int sunPos) {
+		int size = getTreeSize(cell);
+
+		if (size < 0)
+			return 0;
+
+		return isShaded(cell, sunPos, getMaxTreeSize()) ? 0 : size;
+	}
+
+	/**
+	 * Gibt die Energie zurueck, die alle Baeume des Spielers bei der Sonnenposition erzeugen wuerden
+	 *
+	 * @param color Farbe des Spielers
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @return erzeugte Energie aller Baeume des Spielers
+	 */
+	public int getProducedEnergyOf(PlayerColor color, int sunPos) {
+		return getProducedEnergyOf(colorIndex(color), sunPos, getMaxTreeSize());
+	}
+
+	/**
+	 * Summiert die erzeugte Energie aller Pflanzen des Spielers
+	 *
+	 * @param c Farbindex des Spielers
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @param maxTreeSize Groesse des groessten Baumes auf dem Spielbrett
+	 * @return erzeugte Energie aller Baeume des Spielers
+	 */
+	private int getProducedEnergyOf(int c, int sunPos, int maxTreeSize) {
+		int sum = 0;
+
+		for (int slot = 0; slot < trees.capacity(); slot++) {
+			int cell = trees.keyAt(slot);
+			int unit = trees.valueAt(slot);
+
+			if (cell == CellTable.NONE || (unit >>> OWNER_SHIFT) != c)
+				continue;
+
+			if (!isShaded(cell, sunPos, maxTreeSize))
+				sum += unit & SIZE_MASK;
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Prueft, ob das Feld bei der Sonnenposition im Schatten liegt. Ein Baum im Abstand i + 1 in Richtung der
+	 * Sonne wirft Schatten, wenn er groesser als i ist, daher reicht es, maxTreeSize Felder weit zu schauen.
+	 *
+	 * @param cell Feldindex
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @param maxTreeSize Groesse des groessten Baumes auf dem Spielbrett
+	 * @return Wahrheitswert, ob das Feld im Schatten liegt
+	 */
+	private boolean isShaded(int cell, int sunPos, int maxTreeSize) {
+		int y = cell / n;
+		int x = cell % n;
+		int steps = Math.min(k, maxTreeSize);
+
+		for (int i = 0; i < steps; i++) {
+			y += sunshineDirYX[sunPos][0];
+			x += sunshineDirYX[sunPos][1];
+
+			int shadowCell = cellOf(y, x);
+
+			if (shadowCell == INVALID)
+				return false;
+
+			if (getTreeSize(shadowCell) > i)
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Dreht die Sonne um eine Position weiter (Erhoeht die Sonnenposition um 1)
+	 */
+	private void rotateSun() {
+		sunPos++;
+		if (sunPos > 5) {
+			sunRevolutions++;
+			if (sunRevolutions == RuleTables.NUM_SUN_REVOLUTIONS)
+				checkWin();
+
+			sunPos = 0;
+		}
+	}
+
+	/**
+	 * Berechnet und fuegt dem jeweiligen Inventar die in dieser Runde erhaltene Energie hinzu
+	 */
+	private void sunshine() {
+		int maxTreeSize = getMaxTreeSize();
+
+		energy[RED] += getProducedEnergyOf(RED, sunPos, maxTreeSize);
+		energy[BLUE] += getProducedEnergyOf(BLUE, sunPos, maxTreeSize);
+	}
+
+	/**
+	 * Prueft, ob das Feld fuer den Vorbereitungszug geeignet ist
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob geeignet oder nicht
+	 */
+	public boolean isPreparable(int cell) {
+		if (!isValid(cell))
+			return false;
+
+		if (getDistanceToCenter(cell) != k)
+			return false;
+
+		return !trees.contains(cell);
+	}
+
+	/**
+	 * Prueft, ob die Anzahlen pro Elementgroesse aktiviert werden koennen
+	 *
+	 * @param elements Anzahlen pro Elementgroesse
+	 * @param count Anzahl der Werte
+	 * @return Wahrheitswert, ob die Elemente aktiviert werden koennen
+	 */
+	public boolean isActivateable(int[] elements, int count) {
+		int c = colorIndex(turnColor);
+		int energyLeft = energy[c];
+		int[] passiveInventory = passiveElements[c];
+
+		if (count > passiveInventory.length)
+			return false;
+
+		for (int i = 0; i < count; i++) {
+			if (passiveInventory[i] < elements[i])
+				return false;
+
+			energyLeft -= elements[i] * getActivationCost(i, passiveInventory[i]);
+
+			if (energyLeft < 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Uberprueft, ob die Paare aus Baum- und Samenfeld pflanzbar sind
+	 *
+	 * @param fromCells Baumfelder
+	 * @param toCells Samenfelder
+	 * @param count Anzahl der Paare
+	 * @return Wahrheitswert, ob die Paare pflanzbar sind
+	 */
+	public boolean isPlantable(int[] fromCells, int[] toCells, int count) {
+		int c = colorIndex(turnColor);
+
+		if (energy[c] < count)
+			return false;
+
+		if (activeElements[c][0] < count)
+			return false;
+
+		marks.clear();
+
+		for (int i = 0; i < count; i++) {
+			int from = fromCells[i];
+			int to = toCells[i];
+
+			if (!isValid(from) || !isValid(to))
+				return false;
+
+			int fromUnit = trees.get(from);
+
+			if (fromUnit == CellTable.NONE)
+				return false;
+
+			if ((fromUnit >>> OWNER_SHIFT) != c)
+				return false;
+
+			if (trees.contains(to))
+				return false;
+
+			if (getDistance(from, to) != (fromUnit & SIZE_MASK))
+				return false;
+
+			if (usedCells.contains(from) || marks.contains(from))
+				return false;
+
+			if (usedCells.contains(to) || marks.contains(to))
+				return false;
+
+			marks.put(from, 1);
+			marks.put(to, 1);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Uberprueft, ob man die Baeume auf den Feldern wachsen lassen kann
+	 *
+	 * @param cells Felder der Baeume
+	 * @param count Anzahl der Felder
+	 * @return Wahrheitswert, ob man die Baeume wachsen lassen kann
+	 */
+	public boolean isGrowable(int[] cells, int count) {
+		int c = colorIndex(turnColor);
+		int energyLeft = energy[c];
+
+		System.arraycopy(activeElements[c], 0, tmpActiveElements, 0, tmpActiveElements.length);
+		marks.clear();
+
+		for (int i = 0; i < count; i++) {
+			int cell = cells[i];
+
+			if (!isValid(cell))
+				return false;
+
+			int unit = trees.get(cell);
+
+			if (unit == CellTable.NONE)
+				return false;
+
+			if ((unit >>> OWNER_SHIFT) != c)
+				return false;
+
+			if (usedCells.contains(cell) || marks.contains(cell))
+				return false;
+
+			int newTreeSize = (unit & SIZE_MASK) + 1;
+
+			energyLeft -= newTreeSize;
+
+			if (energyLeft <= 0)
+				return false;
+
+			marks.put(cell, 1);
+
+			if (newTreeSize > k)
+				continue;
+
+			if (tmpActiveElements[newTreeSize] <= 0)
+				return false;
+
+			tmpActiveElements[newTreeSize]--;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gibt die Energiekosten fuer das Aktivieren eines Elementes zurueck
+	 *
+	 * @param size Groesse des Elementes (0 fuer Samen)
+	 * @param passive Anzahl der passiven Elemente dieser Groesse vor dem Aktivieren
+	 * @return Energiekosten pro Element
+	 */
+	private int getActivationCost(int size, int passive) {
+		return RuleTables.computeActivationCost(size, passive, maxPassiveElements[size]);
+	}
+
+	/**
+	 * Fuehrt einen Vorbereitungszug fuer das Feld aus
+	 *
+	 * @param cell Feldindex
+	 * @return Status des gemachten Zuges
+	 */
+	private Status prepare(int cell) {
+		if (!isPreparable(cell))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		placeTree(cell, 1, c);
+		activeElements[c][1]--;
+		leftPrepareTrees[c]--;
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Fuehrt einen Aktivierungszug fuer die uebergebene Anzahl an Elemente aus
+	 *
+	 * @param elements Anzahlen pro Elementgroesse
+	 * @param count Anzahl der Werte
+	 * @return Status des gemachten Zuges
+	 */
+	private Status activate(int[] elements, int count) {
+		if (!isActivateable(elements, count))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		for (int i = 0; i < count; i++) {
+			energy[c] -= elements[i] * getActivationCost(i, passiveElements[c][i]);
+			activeElements[c][i] += elements[i];
+			passiveElements[c][i] -= elements[i];
+		}
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Fuehrt einen Pflanz-Zug fuer die Paare aus Baum- und Samenfeld aus
+	 *
+	 * @param fromCells Baumfelder
+	 * @param toCells Samenfelder
+	 * @param count Anzahl der Paare
+	 * @return Status des gemachten Zuges
+	 */
+	private Status plant(int[] fromCells, int[] toCells, int count) {
+		if (!isPlantable(fromCells, toCells, count))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		for (int i = 0; i < count; i++) {
+			usedCells.put(fromCells[i], 1);
+			usedCells.put(toCells[i], 1);
+			placeTree(toCells[i], 0, c);
+			activeElements[c][0]--;
+		}
+
+		energy[c] -= count;
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Fuehrt einen Wachstums-Zug fuer die Baeume auf den Feldern aus
+	 *
+	 * @param cells Felder der Baeume
+	 * @param count Anzahl der Felder
+	 * @return Status des gemachten Zuges
+	 */
+	private Status grow(int[] cells, int count) {
+		if (!isGrowable(cells, count))
+			return Status.Illegal;
+
+		int c = colorIndex(turnColor);
+
+		for (int i = 0; i < count; i++) {
+			int cell = cells[i];
+			int unit = trees.get(cell);
+			int treeSize = unit & SIZE_MASK;
+
+			usedCells.put(cell, 1);
+
+			if (passiveElements[c][treeSize] + 1 <= maxPassiveElements[treeSize])
+				passiveElements[c][treeSize]++;
+
+			energy[c] -= treeSize + 1;
+
+			if (treeSize + 1 > k) {
+				int distanceToCenter = getDistanceToCenter(cell);
+				int numCompletions = ++numTreesCompleted[distanceToCenter];
+				points[c] += RuleTables.computeCompletionScore(distanceToCenter, numCompletions);
+				removeTree(cell, unit);
+				continue;
+			}
+
+			activeElements[c][treeSize + 1]--;
+			setTreeSize(cell, unit, treeSize + 1);
+		}
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Wechselt den Spieler, der an der Reihe ist
+	 */
+	private void switchPlayerTurn() {
+		turnColor = (turnColor == PlayerColor.Red) ? PlayerColor.Blue : PlayerColor.Red;
+	}
+
+	/**
+	 * Bestimmt und setzt die naechste Phase anhand der aktuellen Phase
+	 */
+	private void nextPhase() {
+		MoveType curPhase = getPhaseOf(turnColor);
+
+		switch (curPhase) {
+		case Prepare:
+			if (leftPrepareTrees[colorIndex(turnColor)] <= 0) {
+				if (turnColor == PlayerColor.Blue)
+					sunshine();
+
+				setPhaseOf(turnColor, MoveType.Activate);
+			}
+
+			switchPlayerTurn();
+			break;
+		case Activate:
+			setPhaseOf(turnColor, MoveType.Plant);
+			break;
+		case Plant:
+			setPhaseOf(turnColor, MoveType.Grow);
+			break;
+		case Grow:
+			if (turnColor == PlayerColor.Blue) {
+				rotateSun();
+				sunshine();
+				round++;
+			}
+
+			if (isGameOver())
+				return;
+
+			usedCells.clear();
+
+			setPhaseOf(turnColor, MoveType.Activate);
+			switchPlayerTurn();
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Ueberprueft, ob die uebergebene Phase mit der momentanen Phase uebereinstimmt
+	 *
+	 * @param expectedPhase uebergebene, zu erwartende Phase
+	 * @return Wahrheitswert, ob die uebergebene Phase mit der momentanen Phase uebereinstimmt
+	 */
+	private boolean isInPhase(MoveType expectedPhase) {
+		boolean isRightPhase = (getPhaseOf(turnColor) == expectedPhase);
+
+		if (!isRightPhase)
+			status = Status.Illegal;
+
+		return isRightPhase;
+	}
+
+	/**
+	 * Ueberprueft, ob 6 Sonnenumlaeufe vorbei sind und bestimmt den Gewinner
+	 */
+	private void checkWin() {
+		if (sunRevolutions != RuleTables.NUM_SUN_REVOLUTIONS)
+			return;
+
+		if (points[RED] > points[BLUE]) {
+			status = Status.RedWin;
+		} else if (points[RED] < points[BLUE]) {
+			status = Status.BlueWin;
+		} else {
+			if (energy[RED] > energy[BLUE])
+				status = Status.RedWin;
+			else
+				status = Status.BlueWin;
+		}
+
+		gameOver = true;
+	}
+
+	/**
+	 * Wirft eine Ausnahme, falls das Spiel bereits beendet ist
+	 */
+	private void checkNotGameOver() throws IllegalStateException {
+		if (gameOver) {
+			throw new IllegalStateException("Spiel bereits beendet!");
+		}
+	}
+
+	/**
+	 * Fuehrt einen Vorbereitungszug aus
+	 *
+	 * @param cell Feldindex des Baumes
+	 */
+	public void makePrepare(int cell) throws IllegalStateException {
+		checkNotGameOver();
+
+		if (!isInPhase(MoveType.Prepare))
+			return;
+
+		status = prepare(cell);
+
+		if (status != Status.Illegal)
+			nextPhase();
+	}
+
+	/**
+	 * Fuehrt einen Aktivierungszug aus
+	 *
+	 * @param elements Anzahlen pro Elementgroesse
+	 * @param count Anzahl der Werte
+	 */
+	public void makeActivate(int[] elements, int count) throws IllegalStateException {
+		checkNotGameOver();
+
+		if (!isInPhase(MoveType.Activate))
+			return;
+
+		usedCells.clear();
+
+		status = activate(elements, count);
+
+		if (status != Status.Illegal)
+			nextPhase();
+	}
+
+	/**
+	 * Fuehrt einen Pflanzzug aus
+	 *
+	 * @param fromCells Baumfelder
+	 * @param toCells Samenfelder
+	 * @param count Anzahl der Paare
+	 */
+	public void makePlant(int[] fromCells, int[] toCells, int count) throws IllegalStateException {
+		checkNotGameOver();
+
+		if (!isInPhase(MoveType.Plant))
+			return;
+
+		status = plant(fromCells, toCells, count);
+
+		if (status != Status.Illegal)
+			nextPhase();
+	}
+
+	/**
+	 * Fuehrt einen Wachstumszug aus
+	 *
+	 * @param cells Felder der Baeume
+	 * @param count Anzahl der Felder
+	 */
+	public void makeGrow(int[] cells, int count) throws IllegalStateException {
+		checkNotGameOver();
+
+		if (!isInPhase(MoveType.Grow))
+			return;
+
+		status = grow(cells, count);
+
+		if (status != Status.Illegal)
+			nextPhase();
+	}
+
+	/**
+	 * Fuehrt einen leeren Zug aus (beendet die aktuelle Phase)
+	 */
+	public void makeEmpty() throws IllegalStateException {
+		checkNotGameOver();
+
+		nextPhase();
+	}
+
+	/**
+	 * Gibt fuer den Spieler, der an der Reihe ist, auf
+	 */
+	public void makeSurrender() throws IllegalStateException {
+		checkNotGameOver();
+
+		status = (turnColor == PlayerColor.Red) ? Status.BlueWin : Status.RedWin;
+	}
+
+	/**
+	 * Fuehrt einen Zug mit Hexagon-Koordinaten aus (nur sinnvoll bis k = 5, da Hexagone nicht weiter reichen)
+	 *
+	 * @param move uebergebene Zug (Move)
+	 */
+	public void make(Move move) throws IllegalStateException {
+		checkNotGameOver();
+
+		if (move == null) {
+			status = Status.Illegal;
+			return;
+		}
+
+		switch (move.getType()) {
+		case Surrender:
+			makeSurrender();
+			break;
+		case Prepare:
+			makePrepare(cellOf(move.getPrepare()));
+			break;
+		case Activate:
+			int numElements = move.getActivate().size();
+			int[] elements = getMoveBuffer(numElements);
+
+			for (int i = 0; i < numElements; i++) {
+				elements[i] = move.getActivate().get(i);
+			}
+
+			makeActivate(elements, numElements);
+			break;
+		case Plant:
+			int numTuples = move.getPlant().size();
+			int[] fromCells = getMoveBuffer(numTuples);
+			int[] toCells = getMoveBuffer2(numTuples);
+
+			for (int i = 0; i < numTuples; i++) {
+				HexagonTuple tuple = move.getPlant().get(i);
+				fromCells[i] = cellOf(tuple.getFrom());
+				toCells[i] = cellOf(tuple.getTo());
+			}
+
+			makePlant(fromCells, toCells, numTuples);
+			break;
+		case Grow:
+			int numCells = move.getGrow().size();
+			int[] cells = getMoveBuffer(numCells);
+
+			for (int i = 0; i < numCells; i++) {
+				cells[i] = cellOf(move.getGrow().get(i));
+			}
+
+			makeGrow(cells, numCells);
+			break;
+		default:
+			makeEmpty();
+			break;
+		}
+	}
+
+	/**
+	 * Gibt den Feldindex des Hexagons zurueck
+	 *
+	 * @param hex Hexagon
+	 * @return Feldindex oder INVALID
+	 */
+	private int cellOf(Hexagon hex) {
+		return cellOf(hex.getColumn(), hex.getRow());
+	}
+
+	/**
+	 * Gibt den wiederverwendbaren Zugpuffer zurueck
+	 *
+	 * @param length benoetigte Laenge
+	 * @return Puffer mit mindestens der benoetigten Laenge
+	 */
+	private int[] getMoveBuffer(int length) {
+		if (moveBuffer.length < length)
+			moveBuffer = new int[Math.max(length, moveBuffer.length * 2)];
+
+		return moveBuffer;
+	}
+
+	/**
+	 * Gibt den zweiten wiederverwendbaren Zugpuffer (Samenfelder beim Pflanzen) zurueck
+	 *
+	 * @param length benoetigte Laenge
+	 * @return Puffer mit mindestens der benoetigten Laenge
+	 */
+	private int[] getMoveBuffer2(int length) {
+		if (moveBuffer2.length < length)
+			moveBuffer2 = new int[Math.max(length, moveBuffer2.length * 2)];
+
+		return moveBuffer2;
+	}
+
+	/**
+	 * Setzt Phase, in der sich der Spieler befindet
+	 *
+	 * @param color Farbe des Spielers
+	 * @param phase Phase
+	 */
+	private void setPhaseOf(PlayerColor color, MoveType phase) {
+		if (color == PlayerColor.Red)
+			phaseRed = phase;
+		else
+			phaseBlue = phase;
+	}
+
+	/**
+	 * Gibt Phase zurueck, in der sich der Spieler befindet
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Phase des Spielers
+	 */
+	public MoveType getPhaseOf(PlayerColor color) {
+		return (color == PlayerColor.Red) ? phaseRed : phaseBlue;
+	}
+
+	/**
+	 * Gibt die Groesse des Spielbretts zurueck
+	 *
+	 * @return Groesse des Spielbretts
+	 */
+	public int getSize() {
+		return k;
+	}
+
+	/**
+	 * Gibt die Farbe des Spielers zurueck, der an der Reihe ist
+	 *
+	 * @return Farbe des Spielers
+	 */
+	public PlayerColor getTurnColor() {
+		return turnColor;
+	}
+
+	/**
+	 * Gibt den Status des Spiels zurueck
+	 *
+	 * @return Status des Spiels
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Gibt zurueck, ob das Spiel beendet ist
+	 *
+	 * @return Wahrheitswert, ob das Spiel beendet ist
+	 */
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * Gibt die Runde zurueck
+	 *
+	 * @return Runde
+	 */
+	public int getRound() {
+		return round;
+	}
+
+	/**
+	 * Gibt die Sonnenposition zurueck
+	 *
+	 * @return Sonnenposition
+	 */
+	public int getSunPos() {
+		return sunPos;
+	}
+
+	/**
+	 * Gibt die Anzahl der Sonnenumlaeufe zurueck
+	 *
+	 * @return Anzahl der Sonnenumlaeufe
+	 */
+	public int getSunRevolutions() {
+		return sunRevolutions;
+	}
+
+	/**
+	 * Gibt die Anzahl der vollendeten Baeume pro Abstand zum mittleren Feld zurueck
+	 *
+	 * @return Anzahl der vollendeten Baeume pro Abstand
+	 */
+	public int[] getNumTreesCompleted() {
+		return numTreesCompleted;
+	}
+
+	/**
+	 * Gibt die Energie des Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Energie
+	 */
+	public int getEnergyOf(PlayerColor color) {
+		return energy[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die Punkte des Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Punkte
+	 */
+	public int getPointsOf(PlayerColor color) {
+		return points[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die uebrigen Vorbereitungsbaeume des Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return uebrige Vorbereitungsbaeume
+	 */
+	public int getPrepareTreesOf(PlayerColor color) {
+		return leftPrepareTrees[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die aktiven Elemente des Spielers pro Groesse zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return aktive Elemente
+	 */
+	public int[] getActiveInventoryOf(PlayerColor color) {
+		return activeElements[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die passiven Elemente des Spielers pro Groesse zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return passive Elemente
+	 */
+	public int[] getPassiveInventoryOf(PlayerColor color) {
+		return passiveElements[colorIndex(color)];
+	}
+
+	/**
+	 * Gibt die maximale Anzahl der passiven Elemente pro Groesse zurueck
+	 *
+	 * @return maximale passive Elemente
+	 */
+	public int[] getMaxPassiveInventory() {
+		return maxPassiveElements;
+	}
+}
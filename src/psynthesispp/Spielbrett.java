@@ -1,5 +1,7 @@
 package psynthesispp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import psynthesispp.preset.Hexagon;
 import psynthesispp.preset.HexagonTuple;
@@ -16,10 +18,21 @@ import psynthesispp.preset.Viewer;
  *
  * @author evgen
  */
-public class Spielbrett implements Playable, Viewable, Cloneable {
+public class Spielbrett implements Playable, Viewable, Cloneable, SimulationBoard {
+
+	/** Anzahl der Kopfwerte eines Schnappschusses (siehe snapshot) */
+	private static final int SNAPSHOT_HEADER_LENGTH = 11;
+	private static final int CELL_MASK = 0xF;
+	private static final int CELL_OWNER_SHIFT = 4;
+	private static final int CELL_USED = 1 << 8;
+
+	private static final Status[] STATUSES = Status.values();
+	private static final PlayerColor[] PLAYER_COLORS = PlayerColor.values();
+	private static final MoveType[] MOVE_TYPES = MoveType.values();
 
 	private int n;
 	private int k;
+	private RuleTables rules;
 
 	private Status status;
 	private int round;
@@ -31,21 +44,56 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	private PlayerColor turnColor;
 	private int[] numTreesCompleted;
 
-	private final int neighbourOffsetYX[][] = {{-1, -1},  {0, -1}, {+1, 0}, {+1, +1},  {0, +1}, {-1, 0}}; //Unten-Links, Links, Oben-Links, Oben-Rechts, Rechts, Unten-Rechts
-	private final int sunshineDirYX[][] = neighbourOffsetYX;
-
 	private Inventory inventoryRed;
 	private Inventory inventoryBlue;
 
 	private MoveType phaseRed;
 	private MoveType phaseBlue;
 
+	private UndoRecord undo;
+	private UndoRecord turnRecord = new UndoRecord();
+	private long hash;
+
+	private int[] producedEnergyRed;
+	private int[] producedEnergyBlue;
+
+	private GameView sharedView;
+	private int generation;
+
+	private int[] moveBuffer = new int[16];
+	private int[] validationBuffer = new int[16];
+	private int[] validationMarks = new int[Hexagon.NEXT_HASH];
+	private int validationGeneration;
+	private int[] validationActive = new int[RuleTables.MAX_SIZE + 1];
+
+	private Rejection.Reason rejectionReason;
+	private int rejectionIndex;
+	private int rejectionCell;
+	private Rejection lastRejection;
+
+	private ArrayList<SpielbrettListener> listeners = new ArrayList<>();
+	private boolean eventsActive;
+	private int[] eventInventory = new int[0];
+	private int[] eventInventoryAfter = new int[0];
+	private int[] eventActiveDelta = new int[0];
+	private int[] eventPassiveDelta = new int[0];
+	private int[] eventCells = new int[8];
+	private int numEventCells;
+	private MoveType eventPhaseRed;
+	private MoveType eventPhaseBlue;
+	private PlayerColor eventTurnColor;
+	private int eventSunPos;
+	private int eventSunRevolutions;
+	private int eventRound;
+	private boolean eventDecided;
+
 	/**
 	 * Initialisiere Spielbrett mit der uebergebenen Groesse
 	 *
 	 * @param size Groesse des Spielbretts
+	 * @throws IllegalArgumentException falls die Groesse nicht zwischen 1 und RuleTables.MAX_SIZE liegt
 	 */
-	public Spielbrett(int size) {
+	public Spielbrett(int size) throws IllegalArgumentException {
 		init(size);
 	}
 
@@ -63,8 +111,10 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 		gameOver = false;
 		status = Status.Ok;
 
-		if (k < 1 || k > 5)
-			System.exit(0);
+		if (k < 1 || k > RuleTables.MAX_SIZE)
+			throw new IllegalArgumentException("Spielbrettgroesse muss zwischen 1 und " + RuleTables.MAX_SIZE + " liegen!");
+
+		rules = RuleTables.of(k);
 
 		gamefield = new GameUnit[n][n];
 
@@ -92,18 +142,52 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 		resetUsedField();
 
 		numTreesCompleted = new int[k+1];
+
+		hash = computeHash();
+		computeProducedEnergy();
 	}
 
 	/**
-	 * Erstellt eine neue Read-Only Darstellung des Spielbretts und gibt diese zurueck
+	 * Gibt eine Read-Only Darstellung des Spielbretts zurueck. Die Darstellung teilt sich ihre Daten mit dem
+	 * Spielbrett und wird bis zur naechsten Veraenderung wiederverwendet. Danach ist sie ungueltig und ihre Getter
+	 * werfen eine IllegalStateException. Wer den Spielstand behalten will (z.B. die GUI), verwendet copyViewer().
 	 *
 	 * @return Read-Only Darstellung des Spielbretts
 	 */
 	@Override
 	public Viewer viewer() {
+		if (sharedView == null)
+			sharedView = new GameView(k, round, gamefield, turnColor, phaseRed, phaseBlue, inventoryRed, inventoryBlue, status, gameOver, sunPos, sunRevolutions, numTreesCompleted, usedField, this);
+
+		return sharedView;
+	}
+
+	/**
+	 * Erstellt eine veraenderbare DeepCopy-Darstellung des Spielbretts
+	 *
+	 * @return Kopie der Darstellung des Spielbretts
+	 */
+	public GameView copyViewer() {
 		return new GameView(k, round, gamefield, turnColor, phaseRed, phaseBlue, inventoryRed, inventoryBlue, status, gameOver, sunPos, sunRevolutions, numTreesCompleted, usedField);
 	}
 
+	/**
+	 * Gibt die Generation des Spielbretts zurueck, die bei jeder Veraenderung hochgezaehlt wird
+	 *
+	 * @return Generation
+	 */
+	int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Macht die zuletzt mit viewer() herausgegebene Darstellung ungueltig, bevor das Spielbrett veraendert wird
+	 */
+	private void invalidateView() {
+		generation++;
+		sharedView = null;
+	}
+
 	/**
 	 * DeepCopy des Spielbretts
 	 *
@@ -111,8 +195,7 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 */
 	@Override
 	public Spielbrett clone() {
-		GameView spielbrettViewer = (GameView)viewer();
-		return new Spielbrett(spielbrettViewer);
+		return new Spielbrett(viewer());
 	}
 
 	/**
@@ -122,6 +205,7 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 */
 	public Spielbrett (Viewer viewer) {
 		this.k = viewer.getSize();
+		this.rules = RuleTables.of(k);
 		this.round = viewer.getRound();
 		this.status = viewer.getStatus();
 
@@ -162,15 +246,119 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 				this.gamefield[i][j] = curUnit.clone();
 			}
 		}
+
+		this.hash = computeHash();
+		computeProducedEnergy();
 	}
 
 	/**
 	 * setzt alle Felder des Spielbretts zurueck auf unbenutzt
 	 */
 	private void resetUsedField() {
+		if (usedField != null) {
+			for (int i = 0; i < usedField.length; i++) {
+				for (int j = 0; j < usedField[i].length; j++) {
+					if (usedField[i][j])
+						hash ^= Zobrist.used(i * Hexagon.BASE + j);
+				}
+			}
+		}
+
 		usedField = new boolean[gamefield.length][gamefield[0].length];
 	}
 
+	/**
+	 * Berechnet den Zobrist-Schluessel aller Werte ausser Spielfeld und benutzten Feldern
+	 * (Inventare, Phasen, Spieler am Zug, Sonnenposition, Sonnenumlaeufe und aufgeloeste Baeume)
+	 *
+	 * @return Zobrist-Schluessel dieser Werte
+	 */
+	private long stateHash() {
+		long key = Zobrist.inventory(PlayerColor.Red, inventoryRed)
+				^ Zobrist.inventory(PlayerColor.Blue, inventoryBlue)
+				^ Zobrist.phase(PlayerColor.Red, phaseRed)
+				^ Zobrist.phase(PlayerColor.Blue, phaseBlue)
+				^ Zobrist.turn(turnColor)
+				^ Zobrist.value(Zobrist.FIELD_SUN_POS, sunPos)
+				^ Zobrist.value(Zobrist.FIELD_SUN_REVOLUTIONS, sunRevolutions);
+
+		for (int i = 0; i < numTreesCompleted.length; i++) {
+			key ^= Zobrist.value(Zobrist.FIELD_TREES_COMPLETED + i, numTreesCompleted[i]);
+		}
+
+		return key;
+	}
+
+	/**
+	 * Berechnet den Zobrist-Schluessel des gesamten Spielstandes neu
+	 *
+	 * @return Zobrist-Schluessel des Spielstandes
+	 */
+	private long computeHash() {
+		long key = stateHash();
+
+		for (int i = 0; i < gamefield.length; i++) {
+			for (int j = 0; j < gamefield[i].length; j++) {
+				key ^= Zobrist.unit(gamefield[i][j]);
+
+				if (usedField[i][j])
+					key ^= Zobrist.used(i * Hexagon.BASE + j);
+			}
+		}
+
+		return key;
+	}
+
+	/**
+	 * Gibt den 64-Bit Zobrist-Schluessel des Spielstandes zurueck. Er deckt Spielfeld, benutzte Felder, Inventare,
+	 * Phasen, Spieler am Zug, Sonnenposition und Sonnenumlaeufe ab (nicht aber Status und Runde)
+	 * und wird bei jedem Zug inkrementell aktualisiert.
+	 *
+	 * @return Zobrist-Schluessel des Spielstandes
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Setzt eine GameUnit auf das Spielfeld und merkt sich die alte GameUnit, falls ein Zug aufgezeichnet wird
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @param unit neue GameUnit
+	 */
+	private void setUnit(int y, int x, GameUnit unit) {
+		if (undo != null)
+			undo.addCell(y, x, gamefield[y][x]);
+
+		int cell = y * Hexagon.BASE + x;
+
+		if (eventsActive)
+			addEventCell(cell);
+
+		hash ^= Zobrist.unit(gamefield[y][x]) ^ Zobrist.unit(unit);
+		updateProducedEnergy(cell, -1);
+		gamefield[y][x] = unit;
+		updateProducedEnergy(cell, +1);
+	}
+
+	/**
+	 * Markiert ein Feld als benutzt und merkt sich das Feld, falls ein Zug aufgezeichnet wird
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 */
+	private void markUsed(int y, int x) {
+		if (usedField[y][x])
+			return;
+
+		if (undo != null && undo.usedField == usedField)
+			undo.addUsed(y, x);
+
+		hash ^= Zobrist.used(y * Hexagon.BASE + x);
+		usedField[y][x] = true;
+	}
+
 	/**
 	 * Berechnet die erzeugte Energie auf einem Unit und gibt diese zurueck
 	 *
@@ -181,41 +369,127 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	public int getProducedEnergyOf(Hexagon originHex, int sunPos) {
 		int origUnitY = originHex.getColumn();
 		int origUnitX = originHex.getRow();
+		int originCell = rules.cellOf(origUnitY, origUnitX);
 
-		if (isNull(origUnitY, origUnitX))
+		if (originCell < 0)
 			return 0;
 
-		GameUnit originTree = gamefield[origUnitY][origUnitX];
+		return getProducedEnergyOf(originCell, sunPos);
+	}
+
+	/**
+	 * Berechnet die erzeugte Energie des Baumes auf einem gueltigen Feld
+	 *
+	 * @param cell Feldindex
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @return produzierte Energy des Baumes auf dem Feld (0, falls dort kein Baum steht)
+	 */
+	private int getProducedEnergyOf(int cell, int sunPos) {
+		GameUnit originTree = gamefield[cell / Hexagon.BASE][cell % Hexagon.BASE];
 
 		if (!originTree.isTree())
 			return 0;
 
-		int maxTreeSize = k;
-		int testUnitY = origUnitY;
-		int testUnitX = origUnitX;
+		int[] shadowRay = rules.getShadowRay(cell, sunPos);
+
+		for (int i = 0; i < shadowRay.length; i++) {
+			GameUnit testUnit = gamefield[shadowRay[i] / Hexagon.BASE][shadowRay[i] % Hexagon.BASE];
 
-		for (int i = 0; i < maxTreeSize; i++) {
-			testUnitY += sunshineDirYX[sunPos][0];
-			testUnitX += sunshineDirYX[sunPos][1];
+			if (testUnit.getSize() > i)
+				return 0;
+		}
+
+		return originTree.getSize();
+	}
 
-			if (outOfBounds(testUnitY, testUnitX))
-				return originTree.getSize();
+	/**
+	 * Gibt die Energie zurueck, die alle Baeume des Spielers bei der Sonnenposition erzeugen wuerden.
+	 * Der Wert wird bei jeder Aenderung des Spielfeldes inkrementell mitgefuehrt und kostet O(1).
+	 *
+	 * @param color Farbe des Spielers
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @return erzeugte Energie aller Baeume des Spielers
+	 */
+	public int getProducedEnergyOf(PlayerColor color, int sunPos) {
+		return getProducedEnergyArrayOf(color)[sunPos];
+	}
 
-			if (isNull(testUnitY, testUnitX))
-				return originTree.getSize();
+	/**
+	 * Gibt die Energie zurueck, die alle Baeume des Spielers ueber die naechsten sechs Sonnenpositionen
+	 * (einen ganzen Sonnenumlauf) bei unveraendertem Spielfeld erzeugen wuerden
+	 *
+	 * @param color Farbe des Spielers
+	 * @return erzeugte Energie aller Baeume des Spielers ueber alle Sonnenpositionen
+	 */
+	public int getProducedEnergyOf(PlayerColor color) {
+		int[] producedEnergy = getProducedEnergyArrayOf(color);
+		int sum = 0;
 
-			GameUnit testUnit = gamefield[testUnitY][testUnitX];
+		for (int i = 0; i < producedEnergy.length; i++) {
+			sum += producedEnergy[i];
+		}
 
-			if (!testUnit.isTree())
-				continue;
+		return sum;
+	}
 
-			GameUnit testTree = testUnit;
-			if (testTree.getSize() > i) {
-				return 0;
+	/**
+	 * Gibt die mitgefuehrten Energiesummen pro Sonnenposition des Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Energiesummen pro Sonnenposition
+	 */
+	private int[] getProducedEnergyArrayOf(PlayerColor color) {
+		return (color == PlayerColor.Red) ? producedEnergyRed : producedEnergyBlue;
+	}
+
+	/**
+	 * Berechnet die Energiesummen beider Spieler fuer alle Sonnenpositionen neu
+	 */
+	private void computeProducedEnergy() {
+		producedEnergyRed = new int[RuleTables.NUM_SUN_POSITIONS];
+		producedEnergyBlue = new int[RuleTables.NUM_SUN_POSITIONS];
+
+		for (int cell : rules.getCells()) {
+			for (int s = 0; s < RuleTables.NUM_SUN_POSITIONS; s++) {
+				addProducedEnergyOf(cell, s, +1);
 			}
 		}
+	}
 
-		return originTree.getSize();
+	/**
+	 * Zieht den Energiebeitrag aller Baeume, deren Energie vom Feld abhaengt, von den Energiesummen ab (sign = -1)
+	 * oder addiert ihn (sign = +1). Betroffen sind nur das Feld selbst und die Felder, die in Gegenrichtung
+	 * der Sonne hinter dem Feld liegen. Wird vor und nach jeder Aenderung eines Feldes aufgerufen.
+	 *
+	 * @param cell Feldindex des veraenderten Feldes
+	 * @param sign -1 vor der Aenderung, +1 nach der Aenderung
+	 */
+	private void updateProducedEnergy(int cell, int sign) {
+		for (int s = 0; s < RuleTables.NUM_SUN_POSITIONS; s++) {
+			addProducedEnergyOf(cell, s, sign);
+
+			int[] shadedCells = rules.getShadowRay(cell, (s + 3) % RuleTables.NUM_SUN_POSITIONS);
+
+			for (int i = 0; i < shadedCells.length; i++) {
+				addProducedEnergyOf(shadedCells[i], s, sign);
+			}
+		}
+	}
+
+	/**
+	 * Addiert die Energie des Baumes auf dem Feld bei der Sonnenposition mit Vorzeichen zur Energiesumme seines Besitzers
+	 *
+	 * @param cell Feldindex
+	 * @param sunPos Richtungsindex der Sonneinstrahlung
+	 * @param sign Vorzeichen
+	 */
+	private void addProducedEnergyOf(int cell, int sunPos, int sign) {
+		GameUnit tree = gamefield[cell / Hexagon.BASE][cell % Hexagon.BASE];
+
+		if (tree.getSize() <= 0)
+			return;
+
+		getProducedEnergyArrayOf(tree.getPlayerOwner())[sunPos] += sign * getProducedEnergyOf(cell, sunPos);
 	}
 
 	/**
@@ -225,7 +499,7 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 		sunPos++;
 		if (sunPos > 5) {
 			sunRevolutions++;
-			if (sunRevolutions == 6)
+			if (sunRevolutions == RuleTables.NUM_SUN_REVOLUTIONS)
 				checkWin();
 
 			sunPos = 0;
@@ -236,15 +510,8 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 * Berechnet und fuegt dem jeweiligen Inventar die in dieser Runde erhaltene Energie hinzu
 	 */
 	private void sunshine() {
-		ArrayList<Hexagon> treesRed = inventoryRed.getPlantedTrees();
-		ArrayList<Hexagon> treesBlue = inventoryBlue.getPlantedTrees();
-
-		for (int i = 0; i < treesRed.size(); i++) {
-			inventoryRed.addEnergy(getProducedEnergyOf(treesRed.get(i), sunPos));
-		}
-		for (int i = 0; i < treesBlue.size(); i++) {
-			inventoryBlue.addEnergy(getProducedEnergyOf(treesBlue.get(i), sunPos));
-		}
+		inventoryRed.addEnergy(producedEnergyRed[sunPos]);
+		inventoryBlue.addEnergy(producedEnergyBlue[sunPos]);
 	}
 
 	/**
@@ -287,24 +554,37 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 * @return Wahrheitswert, ob geeignet oder nicht
 	 */
 	public boolean isPreparable(Hexagon hex) {
-		int hexY = hex.getColumn();
-		int hexX = hex.getRow();
+		return isPreparable(PackedMove.cellOf(hex));
+	}
 
-		if (isNull(hexY, hexX)) {
+	/**
+	 * Prueft, ob das Feld fuer den Vorbereitungszug geeignet ist
+	 *
+	 * @param cell Feldindex (wie Hexagon.hashCode())
+	 * @return Wahrheitswert, ob geeignet oder nicht
+	 */
+	private boolean isPreparable(int cell) {
+		if (cell == PackedMove.INVALID) {
 			//print("Selected hexagon is null!");
-			return false;
+			return reject(Rejection.Reason.InvalidCell, 0, cell);
 		}
 
-		GameUnit centerUnit = gamefield[k][k];
+		int hexY = cell / Hexagon.BASE;
+		int hexX = cell % Hexagon.BASE;
+
+		if (isNull(hexY, hexX)) {
+			//print("Selected hexagon is null!");
+			return reject(Rejection.Reason.InvalidCell, 0, cell);
+		}
 
-		if (!isInRange(k, centerUnit.getHexagon(), hex)) {
+		if (rules.getDistanceToCenter(cell) != k) {
 			//print("Selected hexagon is not in distance " + k + " of the center!");
-			return false;
+			return reject(Rejection.Reason.WrongDistance, 0, cell);
 		}
 
 		if (!isEmpty(hexY, hexX)) {
 			//print("Selected hexagon is not empty!");
-			return false;
+			return reject(Rejection.Reason.Occupied, 0, cell);
 		}
 
 		return true;
@@ -317,146 +597,136 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 * @return Wahrheitswert, ob die Elemente aktiviert werden koennen
 	 */
 	public boolean isActivateable(ArrayList<Integer> numOfElements) {
-		Inventory curInventory = getCurrentInventory().clone();
-
-		int energyLeft = curInventory.getEnergy();
-		int[] passiveInventory = curInventory.getPassiveInventory();
-		int[] maxPassiveInventory = curInventory.getMaxPassiveInventory();
-
-		if (numOfElements.size() > passiveInventory.length)
-			return false;
+		int[] elements = getValidationBuffer(numOfElements.size());
 
 		for (int i = 0; i < numOfElements.size(); i++) {
-			if (passiveInventory[i] < numOfElements.get(i))
-				return false;
-
-			int diff = 1;
-			if (passiveInventory[i] * 2 < maxPassiveInventory[i])
-				diff = 2;
-
-			energyLeft -= numOfElements.get(i) * (i + diff);
-
-			if (energyLeft < 0)
-				return false;
+			elements[i] = numOfElements.get(i);
 		}
 
-		return true;
+		return isActivateable(elements, 0, numOfElements.size());
 	}
 
 	/**
-	 * Berechnet die minimale Distanz zwischen zwei Hexagonen in O(1)
+	 * Prueft, ob die gepackten Anzahlen aktiviert werden koennen
 	 *
-	 * @param hex1 erste Hexagon
-	 * @param hex2 zweite Hexagon
-	 * @return Distanz zwischen beiden Hexagonen
+	 * @param elements Puffer mit den Anzahlen pro Elementgroesse
+	 * @param offset Index der ersten Anzahl
+	 * @param count Anzahl der Werte
+	 * @return Wahrheitswert, ob die Elemente aktiviert werden koennen
 	 */
-	private int minDistance(Hexagon hex1, Hexagon hex2) {
-		int y1 = hex1.getColumn();
-		int x1 = hex1.getRow();
-		int y2 = hex2.getColumn();
-		int x2 = hex2.getRow();
+	private boolean isActivateable(int[] elements, int offset, int count) {
+		Inventory curInventory = getCurrentInventory();
 
-		int diffX = x2 - x1;
-		int diffY = y2 - y1;
+		int energyLeft = curInventory.getEnergy();
+		int[] passiveInventory = curInventory.getPassiveInventory();
 
-		int distance = 0;
-		if (diffX * diffY > 0) {
-			int steps;
-			if (diffX > 0)
-				steps = Math.min(diffX, diffY);
-			else
-				steps = Math.max(diffX, diffY);
-			diffX -= steps;
-			diffY -= steps;
-			distance += Math.abs(steps);
+		if (count > passiveInventory.length)
+			return reject(Rejection.Reason.TooManyElements, passiveInventory.length, -1);
+
+		for (int i = 0; i < count; i++) {
+			if (passiveInventory[i] < elements[offset + i])
+				return reject(Rejection.Reason.NotEnoughElements, i, -1);
+
+			energyLeft -= elements[offset + i] * rules.getActivationCost(i, passiveInventory[i]);
+
+			if (energyLeft < 0)
+				return reject(Rejection.Reason.NotEnoughEnergy, i, -1);
 		}
-		distance += Math.abs(diffX) + Math.abs(diffY);
 
-		return distance;
+		return true;
 	}
 
 	/**
-	 * Prueft, ob ein Hexagon genau einen gewissen Abstand zum anderen Hexagons hat
+	 * Uberprueft, ob der Inhalt des Parameters pflanzbar ist
 	 *
-	 * @param radius Abstand
-	 * @param hex1 Erste Hexagon
-	 * @param hex2 Zweite Hexagon
-	 * @return Wahrheitswert, ob ein Hexagon genau einen gewissen Abstand zum anderen Hexagons hat
+	 * @param treeToSeedTuples Hexagon-Paare für Baeume und dazugehoerige Samen
+	 * @return Wahrheitswert, ob Inhalte pflanzbar sind
 	 */
-	private boolean isInRange(int radius, Hexagon hex1, Hexagon hex2) {
-		int distance = minDistance(hex1, hex2);
+	public boolean isPlantable(ArrayList<HexagonTuple> treeToSeedTuples) {
+		int[] tuples = getValidationBuffer(treeToSeedTuples.size());
+
+		for (int i = 0; i < treeToSeedTuples.size(); i++) {
+			HexagonTuple tuple = treeToSeedTuples.get(i);
+			tuples[i] = PackedMove.tuple(PackedMove.cellOf(tuple.getFrom()), PackedMove.cellOf(tuple.getTo()));
+		}
 
-		return distance == radius;
+		return isPlantable(tuples, 0, treeToSeedTuples.size());
 	}
 
 	/**
-	 * Uberprueft, ob der Inhalt des Parameters pflanzbar ist
+	 * Uberprueft, ob die gepackten Paare (PackedMove.tuple) pflanzbar sind
 	 *
-	 * @param treeToSeedTuples Hexagon-Paare für Baeume und dazugehoerige Samen
+	 * @param tuples Puffer mit den Paaren aus Baum- und Samenfeld
+	 * @param offset Index des ersten Paares
+	 * @param count Anzahl der Paare
 	 * @return Wahrheitswert, ob Inhalte pflanzbar sind
 	 */
-	public boolean isPlantable(ArrayList<HexagonTuple> treeToSeedTuples) {
-		Inventory curInventory = getCurrentInventory().clone();
+	private boolean isPlantable(int[] tuples, int offset, int count) {
+		Inventory curInventory = getCurrentInventory();
 
-		if (curInventory.getEnergy() < treeToSeedTuples.size())
-			return false;
+		if (curInventory.getEnergy() < count)
+			return reject(Rejection.Reason.NotEnoughEnergy, Math.max(curInventory.getEnergy(), 0), -1);
 
-		if (curInventory.getActiveInventory()[0] < treeToSeedTuples.size())
-			return false;
+		if (curInventory.getActiveInventory()[0] < count)
+			return reject(Rejection.Reason.NotEnoughElements, Math.max(curInventory.getActiveInventory()[0], 0), -1);
 
-		boolean[][] tmpUsedField = new boolean[usedField.length][usedField[0].length];
+		nextValidationGeneration();
 
-		for (int i = 0; i < tmpUsedField.length; i++) {
-			for (int j = 0; j < tmpUsedField[i].length; j++) {
-				tmpUsedField[i][j] = usedField[i][j];
-			}
-		}
+		for (int i = 0; i < count; i++) {
+			if (!isPlantableTuple(tuples[offset + i], i))
+				return false;
 
-		int[] activeElements = curInventory.getActiveInventory();
+			validationMarks[PackedMove.getFrom(tuples[offset + i])] = validationGeneration;
+			validationMarks[PackedMove.getTo(tuples[offset + i])] = validationGeneration;
+		}
 
-		for (int i = 0; i < treeToSeedTuples.size(); i++) {
-			Hexagon from = treeToSeedTuples.get(i).getFrom();
-			Hexagon to = treeToSeedTuples.get(i).getTo();
-			int fromY = from.getColumn();
-			int fromX = from.getRow();
-			int toY = to.getColumn();
-			int toX = to.getRow();
-
-			if (activeElements[0] <= 0)
-				return false;
+		return true;
+	}
 
-			if (isNull(fromY, fromX))
-				return false;
+	/**
+	 * Ueberprueft ein einzelnes gepacktes Paar aus Baum- und Samenfeld, ohne Energie und Samen zu betrachten.
+	 * Felder, die im geprueften Zug schon vorkommen, muessen in validationMarks markiert sein.
+	 *
+	 * @param tuple gepacktes Paar
+	 * @param index Index des Paares im Zug (fuer die Ablehnung)
+	 * @return Wahrheitswert, ob das Paar pflanzbar ist
+	 */
+	private boolean isPlantableTuple(int tuple, int index) {
+		if (tuple == PackedMove.INVALID)
+			return reject(Rejection.Reason.InvalidCell, index, -1);
 
-			if (isNull(toY, toX))
-				return false;
+		int from = PackedMove.getFrom(tuple);
+		int to = PackedMove.getTo(tuple);
+		int fromY = from / Hexagon.BASE;
+		int fromX = from % Hexagon.BASE;
+		int toY = to / Hexagon.BASE;
+		int toX = to % Hexagon.BASE;
 
-			GameUnit fromUnit = gamefield[fromY][fromX];
-			GameUnit toUnit = gamefield[toY][toX];
+		if (isNull(fromY, fromX))
+			return reject(Rejection.Reason.InvalidCell, index, from);
 
-			if (!fromUnit.isTree())
-				return false;
+		if (isNull(toY, toX))
+			return reject(Rejection.Reason.InvalidCell, index, to);
 
-			if (fromUnit.getPlayerOwner() != turnColor)
-				return false;
+		GameUnit fromUnit = gamefield[fromY][fromX];
 
-			if (!isEmpty(toY, toX))
-				return false;
+		if (!fromUnit.isTree())
+			return reject(Rejection.Reason.NotOwnTree, index, from);
 
-			GameUnit tree = gamefield[fromY][fromX];
+		if (fromUnit.getPlayerOwner() != turnColor)
+			return reject(Rejection.Reason.NotOwnTree, index, from);
 
-			if (!isInRange(tree.getSize(), tree.getHexagon(), toUnit.getHexagon()))
-				return false;
+		if (!isEmpty(toY, toX))
+			return reject(Rejection.Reason.Occupied, index, to);
 
-			if (tmpUsedField[fromY][fromX])
-				return false;
+		if (rules.getDistance(from, to) != fromUnit.getSize())
+			return reject(Rejection.Reason.WrongDistance, index, to);
 
-			if (tmpUsedField[toY][toX])
-				return false;
+		if (isUsedInValidation(fromY, fromX))
+			return reject(Rejection.Reason.UsedField, index, from);
 
-			tmpUsedField[fromY][fromX] = true;
-			tmpUsedField[toY][toX] = true;
-		}
+		if (isUsedInValidation(toY, toX))
+			return reject(Rejection.Reason.UsedField, index, to);
 
 		return true;
 	}
@@ -468,52 +738,54 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 * @return Wahrheitswerte, ob man die Inhalte des Paramaters wachsen lassen kann
 	 */
 	public boolean isGrowable(ArrayList<Hexagon> growList) {
-		Inventory curInventory = getCurrentInventory().clone();
+		int[] cells = getValidationBuffer(growList.size());
 
-		boolean[][] tmpUsedField = new boolean[usedField.length][usedField[0].length];
-		for (int i = 0; i < tmpUsedField.length; i++) {
-			System.arraycopy(usedField[i], 0, tmpUsedField[i], 0, usedField.length);
+		for (int i = 0; i < growList.size(); i++) {
+			cells[i] = PackedMove.cellOf(growList.get(i));
 		}
 
-		int[] origActiveElements = getCurrentInventory().getActiveInventory();
-		int[] activeElements = new int[origActiveElements.length];
-		System.arraycopy(origActiveElements, 0, activeElements, 0, origActiveElements.length);
-
-		int energyLeft = curInventory.getEnergy();
+		return isGrowable(cells, 0, growList.size());
+	}
 
-		for (int i = 0; i < growList.size(); i++) {
-			Hexagon curHex = growList.get(i);
-			int hexY = curHex.getColumn();
-			int hexX = curHex.getRow();
+	/**
+	 * Uberprueft, ob man die Baeume auf den gepackten Feldern wachsen lassen kann
+	 *
+	 * @param cells Puffer mit den Feldindizes
+	 * @param offset Index des ersten Feldes
+	 * @param count Anzahl der Felder
+	 * @return Wahrheitswerte, ob man die Baeume wachsen lassen kann
+	 */
+	private boolean isGrowable(int[] cells, int offset, int count) {
+		Inventory curInventory = getCurrentInventory();
 
-			if (isNull(hexY, hexX))
-				return false;
+		nextValidationGeneration();
 
-			if (isEmpty(hexY, hexX))
-				return false;
+		int[] origActiveElements = curInventory.getActiveInventory();
+		int[] activeElements = validationActive;
+		System.arraycopy(origActiveElements, 0, activeElements, 0, origActiveElements.length);
 
-			GameUnit tree = gamefield[hexY][hexX];
+		int energyLeft = curInventory.getEnergy();
 
-			if (tree.getPlayerOwner() != turnColor)
-				return false;
+		for (int i = 0; i < count; i++) {
+			int cell = cells[offset + i];
 
-			if (tmpUsedField[hexY][hexX])
+			if (!isGrowableTree(cell, i))
 				return false;
 
-			int newTreeSize = tree.getSize() + 1;
+			int newTreeSize = gamefield[cell / Hexagon.BASE][cell % Hexagon.BASE].getSize() + 1;
 
 			energyLeft -= newTreeSize;
 
 			if (energyLeft <= 0)
-				return false;
+				return reject(Rejection.Reason.NotEnoughEnergy, i, cell);
 
-			tmpUsedField[hexY][hexX] = true;
+			validationMarks[cell] = validationGeneration;
 
 			if (newTreeSize > k)
 				continue;
 
 			if (activeElements[newTreeSize] <= 0)
-				return false;
+				return reject(Rejection.Reason.NotEnoughElements, i, cell);
 
 			activeElements[newTreeSize]--;
 		}
@@ -522,127 +794,535 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	}
 
 	/**
-	 * Fuehrt einen Vorbereitungszug fuer das uebergebene Hexagon aus aus
+	 * Ueberprueft einen einzelnen Baum, ohne Energie und aktive Elemente zu betrachten.
+	 * Felder, die im geprueften Zug schon vorkommen, muessen in validationMarks markiert sein.
 	 *
-	 * @param hex uebergebenens Hexagon
-	 * @param size
-	 * @return Status des gemachten Zuges
+	 * @param cell Feldindex des Baumes
+	 * @param index Index des Baumes im Zug (fuer die Ablehnung)
+	 * @return Wahrheitswert, ob der Baum wachsen darf
 	 */
-	private Status prepare(Hexagon hex) {
-		int hexY = hex.getColumn();
-		int hexX = hex.getRow();
+	private boolean isGrowableTree(int cell, int index) {
+		if (cell == PackedMove.INVALID)
+			return reject(Rejection.Reason.InvalidCell, index, cell);
 
-		GameUnit tree = new GameUnit(hexY, hexX, 1, turnColor);
+		int hexY = cell / Hexagon.BASE;
+		int hexX = cell % Hexagon.BASE;
 
-		if (!isPreparable(hex))
-			return Status.Illegal;
+		if (isNull(hexY, hexX))
+			return reject(Rejection.Reason.InvalidCell, index, cell);
 
-		Inventory curInventory = getCurrentInventory();
+		if (isEmpty(hexY, hexX))
+			return reject(Rejection.Reason.NotOwnTree, index, cell);
 
-		gamefield[hexY][hexX] = tree;
-		curInventory.addPlantedTree(hex);
-		curInventory.usePrepareTree();
+		if (gamefield[hexY][hexX].getPlayerOwner() != turnColor)
+			return reject(Rejection.Reason.NotOwnTree, index, cell);
 
-		return Status.Ok;
+		if (isUsedInValidation(hexY, hexX))
+			return reject(Rejection.Reason.UsedField, index, cell);
+
+		return true;
 	}
 
 	/**
-	 * Fuehrt einen Aktivierungszug fuer die uebergebene Anzahl an Elemente aus
+	 * Gibt das laengste regelkonforme Anfangsstueck der Paare aus Baum- und Samenfeld zurueck
 	 *
-	 * @param numOfElements uebergebene Anzahl an Elemente
-	 * @return Status des gemachten Zuges
+	 * @param candidates geordnete Kandidaten
+	 * @return neue Liste mit dem laengsten pflanzbaren Anfangsstueck
 	 */
-	private Status activate(ArrayList<Integer> numOfElements) {
-		if (!isActivateable(numOfElements))
-			return Status.Illegal;
+	public ArrayList<HexagonTuple> getPlantablePrefix(List<HexagonTuple> candidates) {
+		return selectPlantable(candidates, true);
+	}
+
+	/**
+	 * Waehlt gierig in der gegebenen Reihenfolge alle Paare aus Baum- und Samenfeld aus, die zusammen mit den
+	 * schon gewaehlten pflanzbar sind. Das Ergebnis ist pflanzbar, und kein weiteres Paar der Kandidaten passt dazu.
+	 *
+	 * @param candidates geordnete Kandidaten
+	 * @return neue Liste mit der gewaehlten, pflanzbaren Teilmenge
+	 */
+	public ArrayList<HexagonTuple> getMaximalPlantable(List<HexagonTuple> candidates) {
+		return selectPlantable(candidates, false);
+	}
+
+	/**
+	 * Gibt das laengste regelkonforme Anfangsstueck der Baeume zurueck
+	 *
+	 * @param candidates geordnete Kandidaten
+	 * @return neue Liste mit dem laengsten Anfangsstueck, das wachsen kann
+	 */
+	public ArrayList<Hexagon> getGrowablePrefix(List<Hexagon> candidates) {
+		return selectGrowable(candidates, true);
+	}
+
+	/**
+	 * Waehlt gierig in der gegebenen Reihenfolge alle Baeume aus, die zusammen mit den schon gewaehlten
+	 * wachsen koennen. Das Ergebnis kann wachsen, und kein weiterer Baum der Kandidaten passt dazu.
+	 *
+	 * @param candidates geordnete Kandidaten
+	 * @return neue Liste mit der gewaehlten Teilmenge, die wachsen kann
+	 */
+	public ArrayList<Hexagon> getMaximalGrowable(List<Hexagon> candidates) {
+		return selectGrowable(candidates, false);
+	}
 
+	/**
+	 * Waehlt in einem Durchlauf pflanzbare Paare aus. Die Energie und die aktiven Samen begrenzen nur die Anzahl,
+	 * jedes Paar wird einzeln gegen das Spielfeld und die schon gewaehlten Paare geprueft.
+	 *
+	 * @param candidates geordnete Kandidaten
+	 * @param prefix Wahrheitswert, ob beim ersten nicht pflanzbaren Paar abgebrochen wird
+	 * @return neue Liste mit den gewaehlten Paaren
+	 */
+	private ArrayList<HexagonTuple> selectPlantable(List<HexagonTuple> candidates, boolean prefix) {
 		Inventory curInventory = getCurrentInventory();
+		int budget = Math.min(curInventory.getEnergy(), curInventory.getActiveInventory()[0]);
+		ArrayList<HexagonTuple> selected = new ArrayList<>();
 
-		int[] activeInventory = curInventory.getActiveInventory();
-		int[] passiveInventory = curInventory.getPassiveInventory();
-		int[] maxPassiveInventory = curInventory.getMaxPassiveInventory();
+		nextValidationGeneration();
 
-		for (int i = 0; i < numOfElements.size(); i++) {
+		for (int i = 0; i < candidates.size() && selected.size() < budget; i++) {
+			HexagonTuple candidate = candidates.get(i);
+			int tuple = PackedMove.tuple(PackedMove.cellOf(candidate.getFrom()), PackedMove.cellOf(candidate.getTo()));
 
-			int diff = 1;
-			if (passiveInventory[i] * 2 < maxPassiveInventory[i])
-				diff = 2;
+			if (!isPlantableTuple(tuple, i)) {
+				if (prefix)
+					break;
 
-			int energyDecrement = numOfElements.get(i) * (i + diff);
-			curInventory.addEnergy(-energyDecrement);
+				continue;
+			}
 
-			activeInventory[i] += numOfElements.get(i);
-			passiveInventory[i] -= numOfElements.get(i);
+			validationMarks[PackedMove.getFrom(tuple)] = validationGeneration;
+			validationMarks[PackedMove.getTo(tuple)] = validationGeneration;
+			selected.add(candidate);
 		}
 
-		return Status.Ok;
+		return selected;
 	}
 
 	/**
-	 * Fuehrt einen Pflanz-Zug fuer die uebergebenen Hexagon-Paare (Baum + Samen) aus
+	 * Waehlt in einem Durchlauf Baeume aus, die wachsen koennen, und zieht dabei Energie und aktive Elemente
+	 * nur fuer die gewaehlten Baeume ab
 	 *
-	 * @param treeToSeedTuples Liste von Hexagon-Paaren
+	 * @param candidates geordnete Kandidaten
+	 * @param prefix Wahrheitswert, ob beim ersten Baum, der nicht wachsen kann, abgebrochen wird
+	 * @return neue Liste mit den gewaehlten Baeumen
 	 */
-	private Status plant(ArrayList<HexagonTuple> treeToSeedTuples) {
-		if (!isPlantable(treeToSeedTuples))
-			return Status.Illegal;
-
+	private ArrayList<Hexagon> selectGrowable(List<Hexagon> candidates, boolean prefix) {
 		Inventory curInventory = getCurrentInventory();
+		int energyLeft = curInventory.getEnergy();
+		int[] origActiveElements = curInventory.getActiveInventory();
+		int[] activeElements = validationActive;
+		System.arraycopy(origActiveElements, 0, activeElements, 0, origActiveElements.length);
 
-		int[] activeElements = curInventory.getActiveInventory();
+		ArrayList<Hexagon> selected = new ArrayList<>();
 
-		for (int i = 0; i < treeToSeedTuples.size(); i++) {
-			Hexagon hexFrom = treeToSeedTuples.get(i).getFrom();
-			Hexagon hexTo = treeToSeedTuples.get(i).getTo();
-			int treeY = hexFrom.getColumn();
-			int treeX = hexFrom.getRow();
-			int seedY = hexTo.getColumn();
-			int seedX = hexTo.getRow();
+		nextValidationGeneration();
 
-			usedField[treeY][treeX] = true;
-			usedField[seedY][seedX] = true;
+		for (int i = 0; i < candidates.size(); i++) {
+			Hexagon candidate = candidates.get(i);
+			int cell = PackedMove.cellOf(candidate);
+			boolean growable = isGrowableTree(cell, i);
+			int newTreeSize = growable ? gamefield[cell / Hexagon.BASE][cell % Hexagon.BASE].getSize() + 1 : 0;
 
-			GameUnit seed = new GameUnit(seedY, seedX, 0, turnColor);
-			gamefield[seedY][seedX] = seed;
+			//wie in isGrowable muss nach dem Wachsen noch Energie uebrig sein
+			if (growable && energyLeft - newTreeSize <= 0)
+				growable = false;
 
-			curInventory.addPlantedTree(seed.getHexagon());
-			activeElements[0]--;
-		}
+			if (growable && newTreeSize <= k && activeElements[newTreeSize] <= 0)
+				growable = false;
 
-		int energyDecrement = treeToSeedTuples.size();
-		curInventory.addEnergy(-energyDecrement);
+			if (!growable) {
+				if (prefix)
+					break;
+
+				continue;
+			}
+
+			energyLeft -= newTreeSize;
+			validationMarks[cell] = validationGeneration;
+
+			if (newTreeSize <= k)
+				activeElements[newTreeSize]--;
+
+			selected.add(candidate);
+		}
+
+		return selected;
+	}
+
+	/**
+	 * Beginnt eine neue Markierungsgeneration fuer die Pruefmethoden, damit die Markierungen der im
+	 * geprueften Zug benutzten Felder nicht geleert werden muessen
+	 */
+	private void nextValidationGeneration() {
+		validationGeneration++;
+
+		if (validationGeneration == Integer.MAX_VALUE) {
+			Arrays.fill(validationMarks, 0);
+			validationGeneration = 1;
+		}
+	}
+
+	/**
+	 * Gibt zurueck, ob das Feld in dieser Runde schon benutzt wurde oder im gerade geprueften Zug schon vorkommt
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @return Wahrheitswert, ob das Feld benutzt ist
+	 */
+	private boolean isUsedInValidation(int y, int x) {
+		return usedField[y][x] || validationMarks[y * Hexagon.BASE + x] == validationGeneration;
+	}
+
+	/**
+	 * Merkt sich den Grund, warum die laufende Pruefung fehlschlaegt
+	 *
+	 * @param reason Ursache
+	 * @param index Index des fehlerhaften Elementes oder -1
+	 * @param cell Feldindex des betroffenen Feldes oder -1
+	 * @return immer false, damit Pruefmethoden direkt return reject(...) schreiben koennen
+	 */
+	private boolean reject(Rejection.Reason reason, int index, int cell) {
+		rejectionReason = reason;
+		rejectionIndex = index;
+		rejectionCell = cell;
+
+		return false;
+	}
+
+	/**
+	 * Prueft, ob der Zug fuer den Spieler, der an der Reihe ist, regelkonform ist, ohne ihn auszufuehren
+	 *
+	 * @param move zu pruefender Zug
+	 * @return null, falls der Zug regelkonform ist, sonst der Grund der Ablehnung
+	 */
+	public Rejection validate(Move move) {
+		if (move == null)
+			return new Rejection(null, Rejection.Reason.InvalidMove, -1, -1);
+
+		MoveType type = move.getType();
+
+		if (gameOver)
+			return new Rejection(type, Rejection.Reason.GameOver, -1, -1);
+
+		if (type == MoveType.Empty || type == MoveType.End || type == MoveType.Surrender)
+			return null;
+
+		if (getPhaseOf(turnColor) != type)
+			return new Rejection(type, Rejection.Reason.WrongPhase, -1, -1);
+
+		int[] packed = getMoveBuffer(PackedMove.getEncodedLength(move));
+		PackedMove.encode(move, packed, 0);
+
+		int count = PackedMove.getCount(packed, 0);
+		boolean valid;
+
+		switch (type) {
+		case Prepare:
+			valid = isPreparable(packed[1]);
+			break;
+		case Activate:
+			valid = isActivateable(packed, 1, count);
+			break;
+		case Plant:
+			valid = isPlantable(packed, 1, count);
+			break;
+		default:
+			valid = isGrowable(packed, 1, count);
+			break;
+		}
+
+		return valid ? null : createRejection(type);
+	}
+
+	/**
+	 * Registriert einen Listener, der nach jedem Zug ueber die Aenderungen informiert wird
+	 *
+	 * @param listener Listener
+	 */
+	public void addListener(SpielbrettListener listener) {
+		if (listener != null && !listeners.contains(listener))
+			listeners.add(listener);
+	}
+
+	/**
+	 * Entfernt einen Listener
+	 *
+	 * @param listener Listener
+	 */
+	public void removeListener(SpielbrettListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Merkt sich den Zustand vor einem Zug, damit danach nur die Aenderungen gemeldet werden.
+	 * Ohne Listener oder innerhalb eines Zugplans wird nichts gemerkt.
+	 *
+	 * @return Wahrheitswert, ob nach dem Zug fireEvents aufgerufen werden muss
+	 */
+	private boolean beginEvents() {
+		if (eventsActive || listeners.isEmpty())
+			return false;
+
+		int length = inventoryRed.getStateLength() + inventoryBlue.getStateLength();
+
+		if (eventInventory.length != length) {
+			eventInventory = new int[length];
+			eventInventoryAfter = new int[length];
+			eventActiveDelta = new int[(inventoryRed.getStateLength() - 3) / 2];
+			eventPassiveDelta = new int[eventActiveDelta.length];
+		}
+
+		inventoryBlue.writeState(eventInventory, inventoryRed.writeState(eventInventory, 0));
+
+		eventPhaseRed = phaseRed;
+		eventPhaseBlue = phaseBlue;
+		eventTurnColor = turnColor;
+		eventSunPos = sunPos;
+		eventSunRevolutions = sunRevolutions;
+		eventRound = round;
+		eventDecided = isDecided();
+		numEventCells = 0;
+		eventsActive = true;
+
+		return true;
+	}
+
+	/**
+	 * Merkt sich ein veraendertes Feld fuer die Listener
+	 *
+	 * @param cell Feldindex
+	 */
+	private void addEventCell(int cell) {
+		if (numEventCells == eventCells.length)
+			eventCells = Arrays.copyOf(eventCells, numEventCells * 2);
+
+		eventCells[numEventCells++] = cell;
+	}
+
+	/**
+	 * Meldet alle Aenderungen seit beginEvents an die Listener
+	 */
+	private void fireEvents() {
+		eventsActive = false;
+
+		for (int i = 0; i < numEventCells; i++) {
+			int cell = eventCells[i];
+			GameUnit unit = gamefield[cell / Hexagon.BASE][cell % Hexagon.BASE];
+
+			for (int j = 0; j < listeners.size(); j++) {
+				listeners.get(j).cellChanged(Hexagon.ofHash(cell), unit.getSize(), unit.getPlayerOwner());
+			}
+		}
+
+		numEventCells = 0;
+
+		int offset = inventoryRed.writeState(eventInventoryAfter, 0);
+		inventoryBlue.writeState(eventInventoryAfter, offset);
+		fireInventoryDelta(PlayerColor.Red, 0);
+		fireInventoryDelta(PlayerColor.Blue, offset);
+
+		for (int j = 0; j < listeners.size(); j++) {
+			SpielbrettListener listener = listeners.get(j);
+
+			if (sunPos != eventSunPos || sunRevolutions != eventSunRevolutions)
+				listener.sunRotated(sunPos, sunRevolutions);
+
+			if (round != eventRound)
+				listener.roundEnded(round);
+
+			if (phaseRed != eventPhaseRed)
+				listener.phaseChanged(PlayerColor.Red, phaseRed);
+
+			if (phaseBlue != eventPhaseBlue)
+				listener.phaseChanged(PlayerColor.Blue, phaseBlue);
+
+			if (turnColor != eventTurnColor)
+				listener.turnChanged(turnColor);
+
+			if (!eventDecided && isDecided())
+				listener.gameOver(status);
+		}
+	}
+
+	/**
+	 * Meldet die Aenderung eines Inventars, falls es sich geaendert hat
+	 *
+	 * @param color Spieler
+	 * @param offset Index des Inventars in den gemerkten Zustaenden
+	 */
+	private void fireInventoryDelta(PlayerColor color, int offset) {
+		boolean changed = false;
+		int length = eventActiveDelta.length;
+
+		for (int i = 0; i < 3 + 2 * length; i++) {
+			changed |= eventInventoryAfter[offset + i] != eventInventory[offset + i];
+		}
+
+		if (!changed)
+			return;
+
+		for (int i = 0; i < length; i++) {
+			eventActiveDelta[i] = eventInventoryAfter[offset + 3 + i] - eventInventory[offset + 3 + i];
+			eventPassiveDelta[i] = eventInventoryAfter[offset + 3 + length + i] - eventInventory[offset + 3 + length + i];
+		}
+
+		for (int j = 0; j < listeners.size(); j++) {
+			listeners.get(j).inventoryChanged(color,
+					eventInventoryAfter[offset] - eventInventory[offset],
+					eventInventoryAfter[offset + 1] - eventInventory[offset + 1],
+					eventInventoryAfter[offset + 2] - eventInventory[offset + 2],
+					eventActiveDelta, eventPassiveDelta);
+		}
+	}
+
+	/**
+	 * Gibt zurueck, ob das Spiel entschieden ist
+	 *
+	 * @return Wahrheitswert, ob der Status RedWin oder BlueWin ist
+	 */
+	private boolean isDecided() {
+		return status == Status.RedWin || status == Status.BlueWin;
+	}
+
+	/**
+	 * Gibt den Grund zurueck, warum der zuletzt mit make ausgefuehrte Zug abgelehnt wurde
+	 *
+	 * @return Grund der Ablehnung oder null, falls der letzte Zug nicht abgelehnt wurde
+	 */
+	public Rejection getLastRejection() {
+		return lastRejection;
+	}
+
+	/**
+	 * Gibt den wiederverwendbaren Zugpuffer zurueck
+	 *
+	 * @param length benoetigte Laenge
+	 * @return Puffer mit mindestens der benoetigten Laenge
+	 */
+	private int[] getMoveBuffer(int length) {
+		if (moveBuffer.length < length)
+			moveBuffer = new int[Math.max(length, moveBuffer.length * 2)];
+
+		return moveBuffer;
+	}
+
+	/**
+	 * Gibt den wiederverwendbaren Puffer zurueck, in den die oeffentlichen Pruefmethoden ihre Listen packen
+	 *
+	 * @param length benoetigte Laenge
+	 * @return Puffer mit mindestens der benoetigten Laenge
+	 */
+	private int[] getValidationBuffer(int length) {
+		if (validationBuffer.length < length)
+			validationBuffer = new int[Math.max(length, validationBuffer.length * 2)];
+
+		return validationBuffer;
+	}
+
+	/**
+	 * Fuehrt einen Vorbereitungszug fuer das uebergebene Feld aus
+	 *
+	 * @param cell Feldindex
+	 * @return Status des gemachten Zuges
+	 */
+	private Status prepare(int cell) {
+		if (!isPreparable(cell))
+			return Status.Illegal;
+
+		int hexY = cell / Hexagon.BASE;
+		int hexX = cell % Hexagon.BASE;
+
+		GameUnit tree = new GameUnit(hexY, hexX, 1, turnColor);
+
+		Inventory curInventory = getCurrentInventory();
+
+		setUnit(hexY, hexX, tree);
+		curInventory.addPlantedTree(cell);
+		curInventory.usePrepareTree();
 
 		return Status.Ok;
 	}
 
 	/**
-	 * Berechnet die Punkte beim Aufloesen eines Baumes
+	 * Fuehrt einen Aktivierungszug fuer die uebergebene Anzahl an Elemente aus
 	 *
-	 * @param distanceFromCenter Abstand vom mittleren Hexagon (GameUnit)
-	 * @param completedTrees Anzahl der aufgeloesten Baeume mit selbem Abstand zum mittleren Hexagon
-	 * @return Punkte
+	 * @param elements Puffer mit den Anzahlen pro Elementgroesse
+	 * @param offset Index der ersten Anzahl
+	 * @param count Anzahl der Werte
+	 * @return Status des gemachten Zuges
 	 */
-	private int completeTree(int distanceFromCenter, int completedTrees) {
-		int d = distanceFromCenter;
-		int i = completedTrees;
-		int addPoints;
+	private Status activate(int[] elements, int offset, int count) {
+		if (!isActivateable(elements, offset, count))
+			return Status.Illegal;
 
-		if (d <= 1)
-			addPoints = 20 - (int) Math.ceil((i - 1) / 2);
-		else
-			addPoints = (22 - 2 * d - (int) Math.ceil((i - 1) / (d + 1)));
+		Inventory curInventory = getCurrentInventory();
+
+		int[] activeInventory = curInventory.getActiveInventory();
+		int[] passiveInventory = curInventory.getPassiveInventory();
+
+		for (int i = 0; i < count; i++) {
+			int numOfElements = elements[offset + i];
+			int energyDecrement = numOfElements * rules.getActivationCost(i, passiveInventory[i]);
+			curInventory.addEnergy(-energyDecrement);
+
+			activeInventory[i] += numOfElements;
+			passiveInventory[i] -= numOfElements;
+		}
+
+		return Status.Ok;
+	}
+
+	/**
+	 * Fuehrt einen Pflanz-Zug fuer die uebergebenen gepackten Paare (Baum + Samen) aus
+	 *
+	 * @param tuples Puffer mit den Paaren aus Baum- und Samenfeld
+	 * @param offset Index des ersten Paares
+	 * @param count Anzahl der Paare
+	 * @return Status des gemachten Zuges
+	 */
+	private Status plant(int[] tuples, int offset, int count) {
+		if (!isPlantable(tuples, offset, count))
+			return Status.Illegal;
+
+		Inventory curInventory = getCurrentInventory();
+
+		int[] activeElements = curInventory.getActiveInventory();
+
+		for (int i = 0; i < count; i++) {
+			int from = PackedMove.getFrom(tuples[offset + i]);
+			int to = PackedMove.getTo(tuples[offset + i]);
+			int treeY = from / Hexagon.BASE;
+			int treeX = from % Hexagon.BASE;
+			int seedY = to / Hexagon.BASE;
+			int seedX = to % Hexagon.BASE;
+
+			markUsed(treeY, treeX);
+			markUsed(seedY, seedX);
+
+			GameUnit seed = new GameUnit(seedY, seedX, 0, turnColor);
+			setUnit(seedY, seedX, seed);
+
+			curInventory.addPlantedTree(to);
+			activeElements[0]--;
+		}
+
+		int energyDecrement = count;
+		curInventory.addEnergy(-energyDecrement);
 
-		return addPoints;
+		return Status.Ok;
 	}
 
 	/**
-	 * Fuehrt einen Wachstums-Zug fuer die uebergebenen Hexagone aus
+	 * Fuehrt einen Wachstums-Zug fuer die uebergebenen gepackten Felder aus
 	 *
-	 * @param growList Liste von Hexagonen, die Baume sind, welche wachsen sollen
+	 * @param cells Puffer mit den Feldindizes der Baeume, die wachsen sollen
+	 * @param offset Index des ersten Feldes
+	 * @param count Anzahl der Felder
 	 * @return Status des gemachten Zuges
 	 */
-	private Status grow(ArrayList<Hexagon> growList) {
-		if (!isGrowable(growList))
+	private Status grow(int[] cells, int offset, int count) {
+		if (!isGrowable(cells, offset, count))
 			return Status.Illegal;
 
 		Inventory curInventory = getCurrentInventory();
@@ -651,11 +1331,12 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 		int[] passiveElements = curInventory.getPassiveInventory();
 		int[] maxPassiveElements = curInventory.getMaxPassiveInventory();
 
-		for (int i = 0; i < growList.size(); i++) {
-			int hexY = growList.get(i).getColumn();
-			int hexX = growList.get(i).getRow();
+		for (int i = 0; i < count; i++) {
+			int cell = cells[offset + i];
+			int hexY = cell / Hexagon.BASE;
+			int hexX = cell % Hexagon.BASE;
 
-			usedField[hexY][hexX] = true;
+			markUsed(hexY, hexX);
 
 			GameUnit tree = gamefield[hexY][hexX];
 			int treeSize = tree.getSize();
@@ -666,19 +1347,28 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 			curInventory.addEnergy(-(treeSize + 1));
 
 			if (treeSize + 1 > k) {
-				GameUnit centerUnit = gamefield[k][k];
-				int distanceToCenter = minDistance(centerUnit.getHexagon(), tree.getHexagon());
+				int distanceToCenter = rules.getDistanceToCenter(cell);
 				int numCompletions = ++numTreesCompleted[distanceToCenter];
-				int newPoints = completeTree(distanceToCenter, numCompletions);
+				int newPoints = rules.getCompletionScore(distanceToCenter, numCompletions);
 				curInventory.addPoints(newPoints);
-				curInventory.removePlantedTree(tree.getHexagon());
-				gamefield[hexY][hexX] = new GameUnit(hexY, hexX, -1, null);
+				curInventory.removePlantedTree(cell);
+				setUnit(hexY, hexX, new GameUnit(hexY, hexX, -1, null));
 				continue;
 			}
 
 			activeElements[treeSize + 1]--;
 
+			if (undo != null)
+				undo.addCell(hexY, hexX, tree);
+
+			if (eventsActive)
+				addEventCell(cell);
+
+			hash ^= Zobrist.unit(tree);
+			updateProducedEnergy(cell, -1);
 			tree.grow();
+			updateProducedEnergy(cell, +1);
+			hash ^= Zobrist.unit(tree);
 		}
 
 		return Status.Ok;
@@ -746,8 +1436,10 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 		MoveType curPhase = getPhaseOf(turnColor);
 		boolean isRightPhase = (curPhase == expectedPhase);
 
-		if (!isRightPhase)
+		if (!isRightPhase) {
 			status = Status.Illegal;
+			lastRejection = new Rejection(expectedPhase, Rejection.Reason.WrongPhase, -1, -1);
+		}
 
 		return isRightPhase;
 	}
@@ -756,7 +1448,7 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 * Ueberprueft, ob 6 Sonnenumlaeufe vorbei sind und bestimmt den Gewinner
 	 */
 	private void checkWin() {
-		if (sunRevolutions != 6)
+		if (sunRevolutions != RuleTables.NUM_SUN_REVOLUTIONS)
 			return;
 
 		int points1 = inventoryRed.getPoints();
@@ -779,22 +1471,78 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	}
 
 	/**
-	 * Prueft, ob Phase des Parameters mit der erwarteten Phase uebereinstimmt, fuehrt den Zug aus, sobald es regelkonform ist, und setzt die naechste Phase
+	 * Prueft, ob Phase des Parameters mit der erwarteten Phase uebereinstimmt, fuehrt den Zug aus, sobald es regelkonform ist, und setzt die naechste Phase.
+	 * Der Zug wird dazu in einen wiederverwendbaren Puffer gepackt und wie makePacked ausgefuehrt.
 	 *
 	 * @param move uebergebene Zug (Move)
 	 */
 	@Override
 	public void make(Move move) throws IllegalStateException {
+		if (move == null) {
+			makePacked(null, 0);
+			return;
+		}
+
+		int[] packed = getMoveBuffer(PackedMove.getEncodedLength(move));
+		PackedMove.encode(move, packed, 0);
+		makePacked(packed, 0);
+	}
+
+	/**
+	 * Fuehrt den gepackten Zug (siehe PackedMove) wie make aus
+	 *
+	 * @param packed gepackter Zug
+	 */
+	public void makePacked(int[] packed) throws IllegalStateException {
+		makePacked(packed, 0);
+	}
+
+	/**
+	 * Fuehrt den gepackten Zug (siehe PackedMove) ab dem Offset wie make aus, ohne Move-Objekte zu erzeugen
+	 *
+	 * @param packed Puffer mit dem gepackten Zug
+	 * @param offset Index des Kopfes
+	 */
+	public void makePacked(int[] packed, int offset) throws IllegalStateException {
 		if (gameOver) {
 			throw new IllegalStateException("Spiel bereits beendet!");
 		}
 
-		if (move == null) {
+		invalidateView();
+
+		boolean events = beginEvents();
+
+		hash ^= stateHash();
+
+		try {
+			makeMove(packed, offset);
+		} finally {
+			hash ^= stateHash();
+
+			if (events)
+				fireEvents();
+		}
+	}
+
+	/**
+	 * Fuehrt den gepackten Zug aus, ohne den Zobrist-Schluessel der Inventare und Phasen zu aktualisieren
+	 *
+	 * @param packed Puffer mit dem gepackten Zug
+	 * @param offset Index des Kopfes
+	 */
+	private void makeMove(int[] packed, int offset) {
+		lastRejection = null;
+
+		if (packed == null) {
 			status = Status.Illegal;
+			lastRejection = new Rejection(null, Rejection.Reason.InvalidMove, -1, -1);
 			return;
 		}
 
-		switch (move.getType()) {
+		int count = PackedMove.getCount(packed, offset);
+		int data = offset + 1;
+
+		switch (PackedMove.getType(packed, offset)) {
 		case Surrender:
 			if (turnColor == PlayerColor.Red)
 				status = Status.BlueWin;
@@ -805,10 +1553,13 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 			if (!isInPhase(MoveType.Prepare))
 				return;
 
-			status = prepare(move.getPrepare());
+			status = (count == 1) ? prepare(packed[data]) : Status.Illegal;
 
-			if (status == Status.Illegal)
+			if (status == Status.Illegal) {
+				lastRejection = (count == 1) ? createRejection(MoveType.Prepare)
+						: new Rejection(MoveType.Prepare, Rejection.Reason.InvalidMove, -1, -1);
 				return;
+			}
 
 			break;
 		case Activate:
@@ -817,30 +1568,36 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 
 			resetUsedField();
 
-			status = activate(move.getActivate());
+			status = activate(packed, data, count);
 
-			if (status == Status.Illegal)
+			if (status == Status.Illegal) {
+				lastRejection = createRejection(MoveType.Activate);
 				return;
+			}
 
 			break;
 		case Plant:
 			if (!isInPhase(MoveType.Plant))
 				return;
 
-			status = plant(move.getPlant());
+			status = plant(packed, data, count);
 
-			if (status == Status.Illegal)
+			if (status == Status.Illegal) {
+				lastRejection = createRejection(MoveType.Plant);
 				return;
+			}
 
 			break;
 		case Grow:
 			if (!isInPhase(MoveType.Grow))
 				return;
 
-			status = grow(move.getGrow());
+			status = grow(packed, data, count);
 
-			if (status == Status.Illegal)
+			if (status == Status.Illegal) {
+				lastRejection = createRejection(MoveType.Grow);
 				return;
+			}
 
 			break;
 		case Empty:
@@ -852,6 +1609,370 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 		nextPhase();
 	}
 
+	/**
+	 * Erstellt die Ablehnung aus dem Grund, den die zuletzt fehlgeschlagene Pruefung gemerkt hat
+	 *
+	 * @param type Zugtyp
+	 * @return Ablehnung
+	 */
+	private Rejection createRejection(MoveType type) {
+		return new Rejection(type, rejectionReason, rejectionIndex, rejectionCell);
+	}
+
+	/**
+	 * Fuehrt den Zug wie make aus und zeichnet dabei alle Aenderungen im uebergebenen UndoRecord auf,
+	 * sodass der Zug mit unmake exakt rueckgaengig gemacht werden kann
+	 *
+	 * @param move uebergebene Zug (Move)
+	 * @param undoRecord wiederverwendbarer Speicher fuer die Aenderungen des Zuges
+	 */
+	public void make(Move move, UndoRecord undoRecord) throws IllegalStateException {
+		beginUndo(undoRecord);
+
+		try {
+			make(move);
+		} finally {
+			undo = null;
+		}
+	}
+
+	/**
+	 * Fuehrt den gepackten Zug wie makePacked aus und zeichnet dabei alle Aenderungen im uebergebenen UndoRecord auf,
+	 * sodass der Zug mit unmake exakt rueckgaengig gemacht werden kann
+	 *
+	 * @param packed Puffer mit dem gepackten Zug
+	 * @param offset Index des Kopfes
+	 * @param undoRecord wiederverwendbarer Speicher fuer die Aenderungen des Zuges
+	 */
+	public void makePacked(int[] packed, int offset, UndoRecord undoRecord) throws IllegalStateException {
+		beginUndo(undoRecord);
+
+		try {
+			makePacked(packed, offset);
+		} finally {
+			undo = null;
+		}
+	}
+
+	/**
+	 * Fuehrt einen kompletten Zug (Aktivieren, Pflanzen und Wachsen) des Spielers am Zug aus. Der Spieler muss
+	 * in der Aktivieren-Phase sein. Jede Phase wird gegen die Energie und Elemente geprueft, die die vorherigen
+	 * Phasen uebrig lassen. Ist eine Phase nicht regelkonform, wird der ganze Zug verworfen, der Status ist
+	 * Illegal und getLastRejection liefert den Grund.
+	 *
+	 * @param plan Zugplan
+	 */
+	public void makeTurn(TurnPlan plan) throws IllegalStateException {
+		makeTurn(plan, turnRecord);
+	}
+
+	/**
+	 * Fuehrt einen kompletten Zug wie makeTurn aus und zeichnet dabei alle Aenderungen im uebergebenen UndoRecord auf,
+	 * sodass der ganze Zug mit einem unmake rueckgaengig gemacht werden kann
+	 *
+	 * @param plan Zugplan
+	 * @param undoRecord wiederverwendbarer Speicher fuer die Aenderungen des Zuges
+	 */
+	public void makeTurn(TurnPlan plan, UndoRecord undoRecord) throws IllegalStateException {
+		if (gameOver) {
+			throw new IllegalStateException("Spiel bereits beendet!");
+		}
+
+		boolean events = beginEvents();
+
+		beginUndo(undoRecord);
+
+		try {
+			if (!applyTurn(plan)) {
+				Rejection rejection = lastRejection;
+
+				//Zug komplett zuruecknehmen, danach zeichnet der UndoRecord nur noch die Statusaenderung auf
+				unmake(undoRecord);
+				beginUndo(undoRecord);
+
+				status = Status.Illegal;
+				lastRejection = rejection;
+				numEventCells = 0;
+			}
+		} finally {
+			undo = null;
+
+			if (events)
+				fireEvents();
+		}
+	}
+
+	/**
+	 * Prueft, ob der komplette Zug fuer den Spieler, der an der Reihe ist, regelkonform ist, ohne ihn auszufuehren
+	 *
+	 * @param plan zu pruefender Zugplan
+	 * @return null, falls der Zug regelkonform ist, sonst der Grund der Ablehnung
+	 */
+	public Rejection validateTurn(TurnPlan plan) {
+		if (gameOver)
+			return new Rejection(MoveType.Activate, Rejection.Reason.GameOver, -1, -1);
+
+		Rejection previous = lastRejection;
+		boolean events = eventsActive;
+
+		//der Probezug wird den Listenern nicht gemeldet
+		eventsActive = true;
+
+		try {
+			makeTurn(plan, turnRecord);
+		} finally {
+			eventsActive = events;
+			numEventCells = 0;
+		}
+
+		Rejection rejection = lastRejection;
+
+		unmake(turnRecord);
+		lastRejection = previous;
+
+		return rejection;
+	}
+
+	/**
+	 * Fuehrt die Phasen des Zugplans nacheinander aus, bis eine davon abgelehnt wird
+	 *
+	 * @param plan Zugplan
+	 * @return Wahrheitswert, ob alle Phasen regelkonform waren
+	 */
+	private boolean applyTurn(TurnPlan plan) {
+		lastRejection = null;
+
+		if (plan == null) {
+			lastRejection = new Rejection(null, Rejection.Reason.InvalidMove, -1, -1);
+		} else if (getPhaseOf(turnColor) != MoveType.Activate) {
+			lastRejection = new Rejection(MoveType.Activate, Rejection.Reason.WrongPhase, -1, -1);
+		} else {
+			make(plan.getActivate());
+
+			if (lastRejection == null)
+				make(plan.getPlant());
+
+			if (lastRejection == null)
+				make(plan.getGrow());
+		}
+
+		return lastRejection == null;
+	}
+
+	/**
+	 * Sichert den aktuellen Zustand im UndoRecord und zeichnet ab jetzt alle Feldaenderungen darin auf
+	 *
+	 * @param undoRecord wiederverwendbarer Speicher fuer die Aenderungen des Zuges
+	 */
+	private void beginUndo(UndoRecord undoRecord) {
+		undoRecord.reset(inventoryRed.getStateLength() + inventoryBlue.getStateLength(), numTreesCompleted.length);
+
+		undoRecord.status = status;
+		undoRecord.gameOver = gameOver;
+		undoRecord.turnColor = turnColor;
+		undoRecord.phaseRed = phaseRed;
+		undoRecord.phaseBlue = phaseBlue;
+		undoRecord.round = round;
+		undoRecord.sunPos = sunPos;
+		undoRecord.sunRevolutions = sunRevolutions;
+		undoRecord.usedField = usedField;
+		undoRecord.hash = hash;
+		System.arraycopy(producedEnergyRed, 0, undoRecord.producedEnergyRed, 0, RuleTables.NUM_SUN_POSITIONS);
+		System.arraycopy(producedEnergyBlue, 0, undoRecord.producedEnergyBlue, 0, RuleTables.NUM_SUN_POSITIONS);
+
+		int offset = inventoryRed.writeState(undoRecord.inventoryState, 0);
+		inventoryBlue.writeState(undoRecord.inventoryState, offset);
+		System.arraycopy(numTreesCompleted, 0, undoRecord.numTreesCompleted, 0, numTreesCompleted.length);
+
+		undo = undoRecord;
+	}
+
+	/**
+	 * Macht den zuletzt mit make(Move, UndoRecord) oder makePacked(int[], int, UndoRecord) aufgezeichneten Zug rueckgaengig.
+	 * Mehrere Zuege muessen in umgekehrter Reihenfolge rueckgaengig gemacht werden.
+	 *
+	 * @param undoRecord UndoRecord des Zuges
+	 */
+	public void unmake(UndoRecord undoRecord) {
+		invalidateView();
+
+		for (int i = undoRecord.numCells - 1; i >= 0; i--) {
+			int y = undoRecord.cellY[i];
+			int x = undoRecord.cellX[i];
+			GameUnit curUnit = gamefield[y][x];
+			GameUnit oldUnit = undoRecord.cellUnits[i];
+			boolean wasTree = undoRecord.cellSize[i] >= 0;
+
+			if (curUnit.isTree() && !wasTree)
+				getInventoryOf(curUnit.getPlayerOwner()).removePlantedTree(y * Hexagon.BASE + x);
+			else if (!curUnit.isTree() && wasTree)
+				getInventoryOf(oldUnit.getPlayerOwner()).addPlantedTree(y * Hexagon.BASE + x);
+
+			oldUnit.setSize(undoRecord.cellSize[i]);
+			gamefield[y][x] = oldUnit;
+			undoRecord.cellUnits[i] = null;
+		}
+
+		usedField = undoRecord.usedField;
+		undoRecord.usedField = null;
+
+		for (int i = 0; i < undoRecord.numUsed; i++) {
+			usedField[undoRecord.usedY[i]][undoRecord.usedX[i]] = false;
+		}
+
+		int offset = inventoryRed.readState(undoRecord.inventoryState, 0);
+		inventoryBlue.readState(undoRecord.inventoryState, offset);
+		System.arraycopy(undoRecord.numTreesCompleted, 0, numTreesCompleted, 0, numTreesCompleted.length);
+
+		status = undoRecord.status;
+		gameOver = undoRecord.gameOver;
+		turnColor = undoRecord.turnColor;
+		phaseRed = undoRecord.phaseRed;
+		phaseBlue = undoRecord.phaseBlue;
+		round = undoRecord.round;
+		sunPos = undoRecord.sunPos;
+		sunRevolutions = undoRecord.sunRevolutions;
+		hash = undoRecord.hash;
+		System.arraycopy(undoRecord.producedEnergyRed, 0, producedEnergyRed, 0, RuleTables.NUM_SUN_POSITIONS);
+		System.arraycopy(undoRecord.producedEnergyBlue, 0, producedEnergyBlue, 0, RuleTables.NUM_SUN_POSITIONS);
+	}
+
+	/**
+	 * Gibt die Anzahl der Werte zurueck, die snapshot fuer dieses Spielbrett schreibt.
+	 * Die Laenge haengt nur von der Spielbrettgroesse ab, Puffer koennen also pro Groesse wiederverwendet werden.
+	 *
+	 * @return Laenge eines Schnappschusses
+	 */
+	public int getSnapshotLength() {
+		return SNAPSHOT_HEADER_LENGTH + 2 * RuleTables.NUM_SUN_POSITIONS + numTreesCompleted.length
+				+ inventoryRed.getStateLength() + inventoryBlue.getStateLength() + rules.getCells().length;
+	}
+
+	/**
+	 * Schreibt den gesamten Spielzustand in ein neues Array
+	 *
+	 * @return Schnappschuss
+	 */
+	public int[] snapshot() {
+		int[] buffer = new int[getSnapshotLength()];
+		snapshot(buffer, 0);
+
+		return buffer;
+	}
+
+	/**
+	 * Schreibt den gesamten Spielzustand ab dem Offset in den Puffer. Aufbau:
+	 * Kopf (Groesse, Status, Spielende, Spieler am Zug, Phasen, Runde, Sonnenposition, Sonnenumlaeufe,
+	 * Zobrist-Schluessel), Energiesummen pro Sonnenposition beider Spieler, vollendete Baeume pro Abstand,
+	 * beide Inventare und ein Wert pro Feld (Groesse + 1, Besitzer und Benutzt-Markierung, siehe encodeCell).
+	 *
+	 * @param buffer Puffer mit mindestens getSnapshotLength() Werten ab dem Offset
+	 * @param offset Startindex im Puffer
+	 * @return Index hinter dem letzten geschriebenen Wert
+	 */
+	public int snapshot(int[] buffer, int offset) {
+		buffer[offset++] = k;
+		buffer[offset++] = status.ordinal();
+		buffer[offset++] = gameOver ? 1 : 0;
+		buffer[offset++] = turnColor.ordinal();
+		buffer[offset++] = phaseRed.ordinal();
+		buffer[offset++] = phaseBlue.ordinal();
+		buffer[offset++] = round;
+		buffer[offset++] = sunPos;
+		buffer[offset++] = sunRevolutions;
+		buffer[offset++] = (int) (hash >>> 32);
+		buffer[offset++] = (int) hash;
+
+		System.arraycopy(producedEnergyRed, 0, buffer, offset, RuleTables.NUM_SUN_POSITIONS);
+		offset += RuleTables.NUM_SUN_POSITIONS;
+		System.arraycopy(producedEnergyBlue, 0, buffer, offset, RuleTables.NUM_SUN_POSITIONS);
+		offset += RuleTables.NUM_SUN_POSITIONS;
+		System.arraycopy(numTreesCompleted, 0, buffer, offset, numTreesCompleted.length);
+		offset += numTreesCompleted.length;
+
+		offset = inventoryRed.writeState(buffer, offset);
+		offset = inventoryBlue.writeState(buffer, offset);
+
+		for (int cell : rules.getCells()) {
+			int y = cell / Hexagon.BASE;
+			int x = cell % Hexagon.BASE;
+			buffer[offset++] = encodeCell(gamefield[y][x], usedField[y][x]);
+		}
+
+		return offset;
+	}
+
+	/**
+	 * Setzt das Spielbrett auf den Schnappschuss zurueck, ohne Objekte zu erzeugen. Die vorhandenen Felder
+	 * und Inventare werden ueberschrieben, ein Viewer behaelt den alten Zustand. Noch nicht rueckgaengig
+	 * gemachte UndoRecords dieses Spielbretts werden dadurch ungueltig.
+	 *
+	 * @param buffer Puffer mit einem Schnappschuss eines Spielbretts gleicher Groesse
+	 * @param offset Startindex im Puffer
+	 * @return Index hinter dem letzten gelesenen Wert
+	 * @throws IllegalArgumentException falls der Schnappschuss zu einer anderen Spielbrettgroesse gehoert
+	 */
+	public int restore(int[] buffer, int offset) throws IllegalArgumentException {
+		if (buffer[offset] != k)
+			throw new IllegalArgumentException("Schnappschuss gehoert zu Spielbrettgroesse " + buffer[offset] + ", nicht " + k + "!");
+
+		invalidateView();
+
+		offset++;
+		status = STATUSES[buffer[offset++]];
+		gameOver = buffer[offset++] != 0;
+		turnColor = PLAYER_COLORS[buffer[offset++]];
+		phaseRed = MOVE_TYPES[buffer[offset++]];
+		phaseBlue = MOVE_TYPES[buffer[offset++]];
+		round = buffer[offset++];
+		sunPos = buffer[offset++];
+		sunRevolutions = buffer[offset++];
+		hash = ((long) buffer[offset++] << 32) | (buffer[offset++] & 0xFFFFFFFFL);
+
+		System.arraycopy(buffer, offset, producedEnergyRed, 0, RuleTables.NUM_SUN_POSITIONS);
+		offset += RuleTables.NUM_SUN_POSITIONS;
+		System.arraycopy(buffer, offset, producedEnergyBlue, 0, RuleTables.NUM_SUN_POSITIONS);
+		offset += RuleTables.NUM_SUN_POSITIONS;
+		System.arraycopy(buffer, offset, numTreesCompleted, 0, numTreesCompleted.length);
+		offset += numTreesCompleted.length;
+
+		offset = inventoryRed.readState(buffer, offset);
+		offset = inventoryBlue.readState(buffer, offset);
+		inventoryRed.clearPlantedTrees();
+		inventoryBlue.clearPlantedTrees();
+
+		for (int cell : rules.getCells()) {
+			int y = cell / Hexagon.BASE;
+			int x = cell % Hexagon.BASE;
+			int value = buffer[offset++];
+			int owner = (value >>> CELL_OWNER_SHIFT) & CELL_MASK;
+			GameUnit unit = gamefield[y][x];
+
+			unit.setSize((value & CELL_MASK) - 1);
+			unit.setPlayerOwner((owner == 0) ? null : PLAYER_COLORS[owner - 1]);
+			usedField[y][x] = (value & CELL_USED) != 0;
+
+			if (unit.isTree())
+				getInventoryOf(unit.getPlayerOwner()).addPlantedTree(cell);
+		}
+
+		return offset;
+	}
+
+	/**
+	 * Packt ein Feld fuer den Schnappschuss in einen Wert: Groesse + 1 in den unteren Bits,
+	 * darueber Besitzer (0 = keiner, sonst Ordinalzahl + 1) und die Benutzt-Markierung
+	 *
+	 * @param unit Feld
+	 * @param used Wahrheitswert, ob das Feld in dieser Runde benutzt wurde
+	 * @return gepacktes Feld
+	 */
+	private static int encodeCell(GameUnit unit, boolean used) {
+		int owner = (unit.getPlayerOwner() == null) ? 0 : unit.getPlayerOwner().ordinal() + 1;
+
+		return (unit.getSize() + 1) | (owner << CELL_OWNER_SHIFT) | (used ? CELL_USED : 0);
+	}
+
 	/**
 	 * Gibt Inventar des gewuenschten Spielers zurueck
 	 *
@@ -889,10 +2010,106 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 	 *
 	 * @return Inventar des Spielers, der gerade an der Reihe ist
 	 */
-	private Inventory getCurrentInventory() {
+	Inventory getCurrentInventory() {
 		return getInventoryOf(turnColor);
 	}
 
+	/**
+	 * Gibt die GameUnit auf einem gueltigen Feld zurueck (nicht veraendern)
+	 *
+	 * @param cell Feldindex
+	 * @return GameUnit auf dem Feld
+	 */
+	GameUnit getUnit(int cell) {
+		return gamefield[cell / Hexagon.BASE][cell % Hexagon.BASE];
+	}
+
+	/**
+	 * Gibt zurueck, ob ein gueltiges Feld in diesem Zug bereits benutzt wurde
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld benutzt wurde
+	 */
+	@Override
+	public boolean isUsed(int cell) {
+		return usedField[cell / Hexagon.BASE][cell % Hexagon.BASE];
+	}
+
+	/**
+	 * Gibt zurueck, ob auf einem gueltigen Feld ein Samen oder Baum steht
+	 *
+	 * @param cell Feldindex
+	 * @return Wahrheitswert, ob das Feld belegt ist
+	 */
+	@Override
+	public boolean isTree(int cell) {
+		return getUnit(cell).isTree();
+	}
+
+	/**
+	 * Gibt die Groesse des Baumes auf einem belegten Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Groesse des Baumes
+	 */
+	@Override
+	public int getTreeSize(int cell) {
+		return getUnit(cell).getSize();
+	}
+
+	/**
+	 * Gibt den Besitzer des Baumes auf einem belegten Feld zurueck
+	 *
+	 * @param cell Feldindex
+	 * @return Besitzer des Baumes
+	 */
+	@Override
+	public PlayerColor getTreeOwner(int cell) {
+		return getUnit(cell).getPlayerOwner();
+	}
+
+	/**
+	 * Gibt die Energie eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Energie
+	 */
+	@Override
+	public int getEnergyOf(PlayerColor color) {
+		return getInventoryOf(color).getEnergy();
+	}
+
+	/**
+	 * Gibt die aktiven Elemente eines Spielers nach Groesse zurueck (nicht veraendern)
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Anzahl der aktiven Elemente pro Groesse
+	 */
+	@Override
+	public int[] getActiveElementsOf(PlayerColor color) {
+		return getInventoryOf(color).getActiveInventory();
+	}
+
+	/**
+	 * Gibt die passiven Elemente eines Spielers nach Groesse zurueck (nicht veraendern)
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Anzahl der passiven Elemente pro Groesse
+	 */
+	@Override
+	public int[] getPassiveElementsOf(PlayerColor color) {
+		return getInventoryOf(color).getPassiveInventory();
+	}
+
+	/**
+	 * Gibt die gemeinsamen Regeltabellen fuer die Groesse dieses Spielbretts zurueck
+	 *
+	 * @return Regeltabellen
+	 */
+	public RuleTables getRules() {
+		return rules;
+	}
+
 	/**
 	 * Gibt die Farbe des Spielers, der aktuell an der Reihe ist, zurueck
 	 *
@@ -911,6 +2128,17 @@ public class Spielbrett implements Playable, Viewable, Cloneable {
 		return status;
 	}
 
+	/**
+	 * Gibt die Punkte eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @return Punkte des Spielers
+	 */
+	@Override
+	public int getPointsOf(PlayerColor color) {
+		return getInventoryOf(color).getPoints();
+	}
+
 	/**
 	 * Gibt zurueck, ob das Spiel vorueber ist oder nicht
 	 *
@@ -0,0 +1,44 @@
+package psynthesispp;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.Status;
+
+/**
+ * SpielbrettListener, der alle Ereignisse ignoriert. Unterklassen ueberschreiben nur die Ereignisse,
+ * die sie interessieren.
+ *
+ * @author evgen
+ */
+public abstract class SpielbrettAdapter implements SpielbrettListener {
+
+	@Override
+	public void cellChanged(Hexagon hex, int size, PlayerColor owner) {
+	}
+
+	@Override
+	public void inventoryChanged(PlayerColor color, int energyDelta, int pointsDelta, int prepareTreesDelta,
+			int[] activeDelta, int[] passiveDelta) {
+	}
+
+	@Override
+	public void phaseChanged(PlayerColor color, MoveType phase) {
+	}
+
+	@Override
+	public void turnChanged(PlayerColor turnColor) {
+	}
+
+	@Override
+	public void sunRotated(int sunPos, int sunRevolutions) {
+	}
+
+	@Override
+	public void roundEnded(int round) {
+	}
+
+	@Override
+	public void gameOver(Status status) {
+	}
+}
@@ -0,0 +1,77 @@
+package psynthesispp;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.Status;
+
+/**
+ * Empfaengt die Aenderungen, die ein Zug auf dem Spielbrett bewirkt (siehe Spielbrett.addListener).
+ * Die Ereignisse eines Zuges werden gesammelt und erst nach dem Zug gemeldet, abgelehnte Zuege und
+ * verworfene Zugplaene melden nichts. unmake und restore werden nicht gemeldet, Simulationen sollten
+ * deshalb auf Kopien laufen (clone uebernimmt keine Listener).
+ *
+ * @author evgen
+ */
+public interface SpielbrettListener {
+
+	/**
+	 * Ein Feld hat sich geaendert
+	 *
+	 * @param hex Feld
+	 * @param size neue Groesse (-1, falls das Feld leer ist)
+	 * @param owner Besitzer (null, falls das Feld leer ist)
+	 */
+	void cellChanged(Hexagon hex, int size, PlayerColor owner);
+
+	/**
+	 * Das Inventar eines Spielers hat sich geaendert. Die Arrays werden wiederverwendet und sind nur
+	 * waehrend des Aufrufs gueltig.
+	 *
+	 * @param color Spieler
+	 * @param energyDelta Aenderung der Energie
+	 * @param pointsDelta Aenderung der Punkte
+	 * @param prepareTreesDelta Aenderung der uebrigen Vorbereitungsbaeume
+	 * @param activeDelta Aenderung der aktiven Elemente pro Groesse
+	 * @param passiveDelta Aenderung der passiven Elemente pro Groesse
+	 */
+	void inventoryChanged(PlayerColor color, int energyDelta, int pointsDelta, int prepareTreesDelta,
+			int[] activeDelta, int[] passiveDelta);
+
+	/**
+	 * Die Phase eines Spielers hat sich geaendert
+	 *
+	 * @param color Spieler
+	 * @param phase neue Phase
+	 */
+	void phaseChanged(PlayerColor color, MoveType phase);
+
+	/**
+	 * Der Spieler am Zug hat gewechselt
+	 *
+	 * @param turnColor Spieler, der jetzt an der Reihe ist
+	 */
+	void turnChanged(PlayerColor turnColor);
+
+	/**
+	 * Die Sonne hat sich weitergedreht
+	 *
+	 * @param sunPos neue Sonnenposition
+	 * @param sunRevolutions Anzahl der Sonnenumlaeufe
+	 */
+	void sunRotated(int sunPos, int sunRevolutions);
+
+	/**
+	 * Eine Runde ist zu Ende
+	 *
+	 * @param round Anzahl der beendeten Runden
+	 */
+	void roundEnded(int round);
+
+	/**
+	 * Das Spiel ist entschieden (durch Spielende oder Aufgeben)
+	 *
+	 * @param status RedWin oder BlueWin
+	 */
+	void gameOver(Status status);
+}
@@ -0,0 +1,211 @@
+package psynthesispp;
+
+import java.util.Arrays;
+
+/**
+ * Begrenzte Transpositionstabelle fuer Suchverfahren. Zu jedem Spielstand (Schluessel ist Spielbrett.getHash())
+ * werden Anzahl der Besuche, Summe der Bewertungen und der Hashwert des besten Zuges (MoveKey.getHash()) gespeichert,
+ * damit Spielstaende, die ueber verschiedene Zugfolgen erreicht werden, nur einmal untersucht werden.
+ * Die Tabelle belegt fest die beim Erstellen angegebene Speichermenge. Je WAYS Eintraege bilden einen Eimer,
+ * ist der Eimer voll, wird der Eintrag aus der aeltesten Suche mit den wenigsten Besuchen ersetzt.
+ *
+ * @author evgen
+ */
+public final class TranspositionTable {
+
+	/** Speicherbedarf eines Eintrags in Byte */
+	public static final int ENTRY_BYTES = 32;
+
+	/** Standard-Speicherbudget in Byte */
+	public static final long DEFAULT_MEMORY = 16L * 1024 * 1024;
+
+	/** Rueckgabewert von probe fuer Spielstaende ohne Eintrag */
+	public static final int NONE = -1;
+
+	/** Anzahl der Eintraege pro Eimer */
+	private static final int WAYS = 4;
+
+	private final long[] keys;
+	private final long[] bestMoves;
+	private final double[] values;
+	private final int[] visits;
+	private final int[] generations;
+	private final int bucketMask;
+	private int generation = 1;
+	private int size;
+
+	/**
+	 * Erstellt eine Tabelle, die hoechstens die uebergebene Speichermenge belegt
+	 *
+	 * @param memoryBytes Speicherbudget in Byte
+	 * @throws IllegalArgumentException falls das Budget nicht fuer einen Eimer reicht
+	 */
+	public TranspositionTable(long memoryBytes) throws IllegalArgumentException {
+		long maxEntries = memoryBytes / ENTRY_BYTES;
+
+		if (maxEntries < WAYS)
+			throw new IllegalArgumentException("Speicherbudget zu klein: " + memoryBytes + " Byte");
+
+		int numBuckets = Integer.highestOneBit((int) Math.min(maxEntries / WAYS, 1 << 26));
+
+		keys = new long[numBuckets * WAYS];
+		bestMoves = new long[keys.length];
+		values = new double[keys.length];
+		visits = new int[keys.length];
+		generations = new int[keys.length];
+		bucketMask = numBuckets - 1;
+	}
+
+	/**
+	 * Gibt die Anzahl der Plaetze zurueck
+	 *
+	 * @return Anzahl der Plaetze
+	 */
+	public int getCapacity() {
+		return keys.length;
+	}
+
+	/**
+	 * Gibt die Anzahl der belegten Plaetze zurueck
+	 *
+	 * @return Anzahl der Eintraege
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Beginnt eine neue Suche. Eintraege aus frueheren Suchen werden zuerst ersetzt.
+	 */
+	public void nextGeneration() {
+		generation++;
+	}
+
+	/**
+	 * Entfernt alle Eintraege
+	 */
+	public void clear() {
+		Arrays.fill(generations, 0);
+		generation = 1;
+		size = 0;
+	}
+
+	/**
+	 * Sucht den Eintrag zum Spielstand und markiert ihn als in der aktuellen Suche benutzt
+	 *
+	 * @param hash Schluessel des Spielstandes
+	 * @return Platz des Eintrags oder NONE
+	 */
+	public int probe(long hash) {
+		int first = bucketOf(hash);
+
+		for (int i = first; i < first + WAYS; i++) {
+			if (generations[i] != 0 && keys[i] == hash) {
+				generations[i] = generation;
+				return i;
+			}
+		}
+
+		return NONE;
+	}
+
+	/**
+	 * Gibt die Anzahl der Besuche des Eintrags zurueck
+	 *
+	 * @param slot Platz aus probe
+	 * @return Anzahl der Besuche
+	 */
+	public int getVisits(int slot) {
+		return visits[slot];
+	}
+
+	/**
+	 * Gibt die Summe der Bewertungen des Eintrags zurueck
+	 *
+	 * @param slot Platz aus probe
+	 * @return Summe der Bewertungen
+	 */
+	public double getValue(int slot) {
+		return values[slot];
+	}
+
+	/**
+	 * Gibt den Hashwert des besten Zuges des Eintrags zurueck
+	 *
+	 * @param slot Platz aus probe
+	 * @return MoveKey.getHash() des besten Zuges oder 0, falls keiner gespeichert ist
+	 */
+	public long getBestMove(int slot) {
+		return bestMoves[slot];
+	}
+
+	/**
+	 * Zaehlt einen Besuch des Spielstandes mit der uebergebenen Bewertung
+	 *
+	 * @param hash Schluessel des Spielstandes
+	 * @param value Bewertung des Besuchs
+	 */
+	public void add(long hash, double value) {
+		int slot = getOrCreate(hash);
+
+		visits[slot]++;
+		values[slot] += value;
+	}
+
+	/**
+	 * Speichert den besten Zug des Spielstandes
+	 *
+	 * @param hash Schluessel des Spielstandes
+	 * @param moveHash MoveKey.getHash() des besten Zuges
+	 */
+	public void setBestMove(long hash, long moveHash) {
+		bestMoves[getOrCreate(hash)] = moveHash;
+	}
+
+	/**
+	 * Gibt den Platz des Spielstandes zurueck und legt ihn bei Bedarf an. Ist der Eimer voll, wird der Eintrag
+	 * aus der aeltesten Suche ersetzt, bei gleichem Alter der mit den wenigsten Besuchen.
+	 *
+	 * @param hash Schluessel des Spielstandes
+	 * @return Platz des Eintrags
+	 */
+	private int getOrCreate(long hash) {
+		int slot = probe(hash);
+
+		if (slot != NONE)
+			return slot;
+
+		int first = bucketOf(hash);
+		int victim = first;
+
+		for (int i = first; i < first + WAYS; i++) {
+			if (generations[i] == 0) {
+				victim = i;
+				size++;
+				break;
+			}
+
+			if (generations[i] < generations[victim]
+					|| (generations[i] == generations[victim] && visits[i] < visits[victim]))
+				victim = i;
+		}
+
+		keys[victim] = hash;
+		bestMoves[victim] = 0;
+		values[victim] = 0;
+		visits[victim] = 0;
+		generations[victim] = generation;
+
+		return victim;
+	}
+
+	/**
+	 * Gibt den ersten Platz des Eimers zum Spielstand zurueck
+	 *
+	 * @param hash Schluessel des Spielstandes
+	 * @return erster Platz des Eimers
+	 */
+	private int bucketOf(long hash) {
+		return ((int) (hash ^ (hash >>> 32)) & bucketMask) * WAYS;
+	}
+}
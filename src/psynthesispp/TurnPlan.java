@@ -0,0 +1,99 @@
+package psynthesispp;
+
+import java.io.Serializable;
+
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+
+/**
+ * Kompletter Zug eines Spielers ueber alle drei Phasen (Aktivieren, Pflanzen, Wachsen), der mit
+ * Spielbrett.makeTurn in einem Schritt geprueft und ausgefuehrt wird. Jede Phase ist entweder ein Zug
+ * des passenden Typs oder der leere Zug.
+ *
+ * @author evgen
+ */
+public class TurnPlan implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Move activate;
+	private final Move plant;
+	private final Move grow;
+
+	/**
+	 * Erstellt einen Zugplan. null steht fuer den leeren Zug in dieser Phase.
+	 *
+	 * @param activate Aktivieren-Zug oder leerer Zug
+	 * @param plant Pflanzen-Zug oder leerer Zug
+	 * @param grow Wachsen-Zug oder leerer Zug
+	 * @throws IllegalArgumentException falls ein Zug weder leer ist noch zu seiner Phase passt
+	 */
+	public TurnPlan(Move activate, Move plant, Move grow) throws IllegalArgumentException {
+		this.activate = checkPhase(activate, MoveType.Activate);
+		this.plant = checkPhase(plant, MoveType.Plant);
+		this.grow = checkPhase(grow, MoveType.Grow);
+	}
+
+	/**
+	 * Prueft, ob der Zug zur Phase passt
+	 *
+	 * @param move Zug oder null
+	 * @param phase Phase des Zuges
+	 * @return Zug oder leerer Zug, falls move null ist
+	 */
+	private static Move checkPhase(Move move, MoveType phase) {
+		if (move == null)
+			return new Move(MoveType.Empty);
+
+		if (move.getType() != phase && move.getType() != MoveType.Empty)
+			throw new IllegalArgumentException(move.getType() + " ist kein Zug der Phase " + phase);
+
+		return move;
+	}
+
+	/**
+	 * Gibt den Aktivieren-Zug zurueck
+	 *
+	 * @return Aktivieren-Zug oder leerer Zug
+	 */
+	public Move getActivate() {
+		return activate;
+	}
+
+	/**
+	 * Gibt den Pflanzen-Zug zurueck
+	 *
+	 * @return Pflanzen-Zug oder leerer Zug
+	 */
+	public Move getPlant() {
+		return plant;
+	}
+
+	/**
+	 * Gibt den Wachsen-Zug zurueck
+	 *
+	 * @return Wachsen-Zug oder leerer Zug
+	 */
+	public Move getGrow() {
+		return grow;
+	}
+
+	/**
+	 * Gibt die Zuege in der Reihenfolge der Phasen zurueck
+	 *
+	 * @return Aktivieren-, Pflanzen- und Wachsen-Zug
+	 */
+	public Move[] getMoves() {
+		return new Move[] {activate, plant, grow};
+	}
+
+	/**
+	 * Gibt den Zugplan in String-Form zurueck
+	 *
+	 * @return Zugplan als String
+	 */
+	@Override
+	public String toString() {
+		return activate + " | " + plant + " | " + grow;
+	}
+}
@@ -0,0 +1,100 @@
+package psynthesispp;
+
+import java.util.Arrays;
+
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.Status;
+
+/**
+ * Speichert alle Aenderungen eines Zuges auf einem Spielbrett, damit dieser mit Spielbrett.unmake exakt
+ * rueckgaengig gemacht werden kann. Ein UndoRecord kann fuer beliebig viele Zuege wiederverwendet werden,
+ * die Puffer wachsen nur bei Bedarf.
+ *
+ * @author evgen
+ */
+public class UndoRecord {
+
+	Status status;
+	boolean gameOver;
+	PlayerColor turnColor;
+	MoveType phaseRed;
+	MoveType phaseBlue;
+	int round;
+	int sunPos;
+	int sunRevolutions;
+	long hash;
+	int[] producedEnergyRed = new int[RuleTables.NUM_SUN_POSITIONS];
+	int[] producedEnergyBlue = new int[RuleTables.NUM_SUN_POSITIONS];
+
+	int[] inventoryState = new int[0];
+	int[] numTreesCompleted = new int[0];
+	boolean[][] usedField;
+
+	int numCells;
+	int[] cellY = new int[8];
+	int[] cellX = new int[8];
+	int[] cellSize = new int[8];
+	GameUnit[] cellUnits = new GameUnit[8];
+
+	int numUsed;
+	int[] usedY = new int[8];
+	int[] usedX = new int[8];
+
+	/**
+	 * Setzt den Inhalt zurueck, bevor ein neuer Zug aufgezeichnet wird
+	 *
+	 * @param inventoryStateLength benoetigte Laenge des Inventar-Puffers
+	 * @param numTreesCompletedLength benoetigte Laenge des Puffers der aufgeloesten Baeume
+	 */
+	void reset(int inventoryStateLength, int numTreesCompletedLength) {
+		numCells = 0;
+		numUsed = 0;
+
+		if (inventoryState.length < inventoryStateLength)
+			inventoryState = new int[inventoryStateLength];
+
+		if (numTreesCompleted.length < numTreesCompletedLength)
+			numTreesCompleted = new int[numTreesCompletedLength];
+	}
+
+	/**
+	 * Merkt sich den alten Inhalt eines Feldes, bevor es veraendert wird
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 * @param unit bisherige GameUnit auf dem Feld
+	 */
+	void addCell(int y, int x, GameUnit unit) {
+		if (numCells == cellY.length) {
+			int newLength = numCells * 2;
+			cellY = Arrays.copyOf(cellY, newLength);
+			cellX = Arrays.copyOf(cellX, newLength);
+			cellSize = Arrays.copyOf(cellSize, newLength);
+			cellUnits = Arrays.copyOf(cellUnits, newLength);
+		}
+
+		cellY[numCells] = y;
+		cellX[numCells] = x;
+		cellSize[numCells] = unit.getSize();
+		cellUnits[numCells] = unit;
+		numCells++;
+	}
+
+	/**
+	 * Merkt sich ein Feld, das in diesem Zug als benutzt markiert wurde
+	 *
+	 * @param y 1. Spielfeld-Array-Index
+	 * @param x 2. Spielfeld-Array-Index
+	 */
+	void addUsed(int y, int x) {
+		if (numUsed == usedY.length) {
+			usedY = Arrays.copyOf(usedY, numUsed * 2);
+			usedX = Arrays.copyOf(usedX, numUsed * 2);
+		}
+
+		usedY[numUsed] = y;
+		usedX[numUsed] = x;
+		numUsed++;
+	}
+}
@@ -0,0 +1,157 @@
+package psynthesispp;
+
+import psynthesispp.preset.Hexagon;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+
+/**
+ * Zufallsschluessel fuer das Zobrist-Hashing eines Spielstandes.
+ * Felder (Besitzer und Groesse) und benutzte Felder haben feste Tabellen, alle anderen Werte
+ * (Inventare, Phasen, Sonne, ...) werden ueber eine Mischfunktion aus Wertnummer und Wert gehasht,
+ * damit auch unbeschraenkte Werte wie Energie und Punkte abgedeckt sind.
+ * Die Schluessel haengen nur von einem festen Startwert ab und sind damit in jedem Programmlauf gleich.
+ *
+ * @author evgen
+ */
+public final class Zobrist {
+
+	static final int MAX_TREE_SIZE = 5;
+
+	static final int FIELD_ENERGY = 0;
+	static final int FIELD_POINTS = 1;
+	static final int FIELD_PREPARE_TREES = 2;
+	static final int FIELD_ACTIVE = 8;
+	static final int FIELD_PASSIVE = 16;
+	static final int FIELDS_PER_COLOR = 32;
+	static final int FIELD_PHASE = 64;
+	static final int FIELD_SUN_POS = 66;
+	static final int FIELD_SUN_REVOLUTIONS = 67;
+	static final int FIELD_TREES_COMPLETED = 68;
+
+	private static final long[][][] CELL = new long[Hexagon.NEXT_HASH][2][MAX_TREE_SIZE + 1];
+	private static final long[] USED = new long[Hexagon.NEXT_HASH];
+	private static final long TURN_BLUE;
+
+	static {
+		long seed = 0x5053594e54484553L;
+
+		for (int cell = 0; cell < Hexagon.NEXT_HASH; cell++) {
+			for (int owner = 0; owner < 2; owner++) {
+				for (int size = 0; size <= MAX_TREE_SIZE; size++) {
+					seed += 0x9E3779B97F4A7C15L;
+					CELL[cell][owner][size] = mix(seed);
+				}
+			}
+			seed += 0x9E3779B97F4A7C15L;
+			USED[cell] = mix(seed);
+		}
+
+		seed += 0x9E3779B97F4A7C15L;
+		TURN_BLUE = mix(seed);
+	}
+
+	private Zobrist() {
+	}
+
+	/**
+	 * SplitMix64-Mischfunktion
+	 *
+	 * @param z Eingabewert
+	 * @return gemischter Wert
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Gibt den Schluessel fuer eine GameUnit zurueck (0 fuer leere Felder)
+	 *
+	 * @param unit GameUnit auf dem Spielfeld
+	 * @return Schluessel der GameUnit
+	 */
+	static long unit(GameUnit unit) {
+		if (unit == null || !unit.isTree())
+			return 0;
+
+		return tree(unit.getY() * Hexagon.BASE + unit.getX(), unit.getPlayerOwner(), unit.getSize());
+	}
+
+	/**
+	 * Gibt den Schluessel fuer einen Baum zurueck
+	 *
+	 * @param cell Feldindex (wie Hexagon.hashCode())
+	 * @param owner Besitzer des Baumes
+	 * @param size Groesse des Baumes
+	 * @return Schluessel des Baumes
+	 */
+	static long tree(int cell, PlayerColor owner, int size) {
+		return CELL[cell][owner == PlayerColor.Red ? 0 : 1][size];
+	}
+
+	/**
+	 * Gibt den Schluessel fuer ein benutztes Feld zurueck
+	 *
+	 * @param cell Feldindex (wie Hexagon.hashCode())
+	 * @return Schluessel des benutzten Feldes
+	 */
+	static long used(int cell) {
+		return USED[cell];
+	}
+
+	/**
+	 * Gibt den Schluessel fuer den Spieler, der an der Reihe ist, zurueck
+	 *
+	 * @param turnColor Farbe des Spielers, der an der Reihe ist
+	 * @return Schluessel des Spielers
+	 */
+	static long turn(PlayerColor turnColor) {
+		return (turnColor == PlayerColor.Blue) ? TURN_BLUE : 0;
+	}
+
+	/**
+	 * Gibt den Schluessel fuer einen Zahlenwert des Spielstandes zurueck
+	 *
+	 * @param field Nummer des Wertes (FIELD_*)
+	 * @param value Wert
+	 * @return Schluessel des Wertes
+	 */
+	static long value(int field, int value) {
+		return mix(((long) field << 32) ^ (value & 0xFFFFFFFFL) ^ 0x2545F4914F6CDD1DL);
+	}
+
+	/**
+	 * Gibt den Schluessel fuer das Inventar eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @param inventory Inventar des Spielers
+	 * @return Schluessel des Inventars
+	 */
+	static long inventory(PlayerColor color, Inventory inventory) {
+		int base = (color == PlayerColor.Red) ? 0 : FIELDS_PER_COLOR;
+		int[] active = inventory.getActiveInventory();
+		int[] passive = inventory.getPassiveInventory();
+
+		long key = value(base + FIELD_ENERGY, inventory.getEnergy())
+				^ value(base + FIELD_POINTS, inventory.getPoints())
+				^ value(base + FIELD_PREPARE_TREES, inventory.getPrepareTrees());
+
+		for (int i = 0; i < active.length; i++) {
+			key ^= value(base + FIELD_ACTIVE + i, active[i]) ^ value(base + FIELD_PASSIVE + i, passive[i]);
+		}
+
+		return key;
+	}
+
+	/**
+	 * Gibt den Schluessel fuer die Phase eines Spielers zurueck
+	 *
+	 * @param color Farbe des Spielers
+	 * @param phase Phase des Spielers
+	 * @return Schluessel der Phase
+	 */
+	static long phase(PlayerColor color, MoveType phase) {
+		return value(FIELD_PHASE + ((color == PlayerColor.Red) ? 0 : 1), phase.ordinal());
+	}
+}
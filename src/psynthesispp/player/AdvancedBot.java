@@ -2,9 +2,11 @@ package psynthesispp.player;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.HashSet;
 
-import psynthesispp.CompMove;
-import psynthesispp.GameView;
+import psynthesispp.BitSpielbrett;
+import psynthesispp.GameClock;
+import psynthesispp.MoveKey;
 import psynthesispp.Spielbrett;
 import psynthesispp.preset.Move;
 import psynthesispp.preset.MoveType;
@@ -22,14 +24,29 @@ import psynthesispp.preset.Status;
  */
 public class AdvancedBot extends Spieler {
 
+	/** Rueckgabewert von simulateGame, falls das Zeitbudget waehrend des Spiels abgelaufen ist */
+	private static final int ABORTED = Integer.MIN_VALUE;
+
+	/** Durchschnittliche Anzahl an Spielen pro Kandidat, ab der im Zeitbudget-Modus ein neuer Kandidat dazukommt */
+	private static final int GAMES_PER_CANDIDATE = 10;
+
+	/** Anzahl doppelter Kandidaten in Folge, nach der im Zeitbudget-Modus keine neuen Kandidaten mehr angefordert werden */
+	private static final int MAX_DUPLICATES = 10;
+
+	/** Obergrenze der Rechenzeit pro Zug in Millisekunden fuer die Schwierigkeiten easy, medium, hard, waitingSimulator, impossible */
+	private static final long[] DIFFICULTY_BUDGETS = {25, 75, 150, 250, 400};
+
 	private Spieler simPlayer;
-	private int difficulty;
+	private long timeBudgetMillis;
+	private GameClock clock;
+	private BitSpielbrett rolloutBoard;
 
 	/**
 	 * AdvancedBot Konstruktor
 	 * Spieler des typs AdvancedAI
 	 * difficulty: easy, medium, hard, waitingSimulator, impossible
 	 * simType: simple, random
+	 * Die Schwierigkeit bestimmt das Zeitbudget pro Zug (siehe getDefaultBudget).
 	 *
 	 * @param boardSize Groesse des Spielfeldes
 	 * @param color Farbe des Spielers
@@ -37,17 +54,60 @@ public class AdvancedBot extends Spieler {
 	 * @param difficulty Schwierigkeitslevel
 	 */
 	public AdvancedBot(int boardSize, PlayerColor color, PlayerType simType, int difficulty) {
+		this(boardSize, color, simType, difficulty, 0);
+	}
+
+	/**
+	 * AdvancedBot Konstruktor mit Zeitbudget
+	 * Der Bot simuliert pro Zug so lange, bis das Budget aufgebraucht ist, und liefert den besten bis dahin
+	 * gefundenen Zug.
+	 *
+	 * @param boardSize Groesse des Spielfeldes
+	 * @param color Farbe des Spielers
+	 * @param simType Spielertyp zur Simulation
+	 * @param difficulty Schwierigkeitslevel
+	 * @param timeBudgetMillis Zeitbudget pro Zug in Millisekunden oder 0 fuer das Budget der Schwierigkeit
+	 */
+	public AdvancedBot(int boardSize, PlayerColor color, PlayerType simType, int difficulty, long timeBudgetMillis) {
 		super(boardSize, color, PlayerType.AdvancedAI);
-		this.difficulty = difficulty;
+		this.timeBudgetMillis = (timeBudgetMillis > 0) ? timeBudgetMillis : getDefaultBudget(difficulty);
 		this.simPlayer = (simType == PlayerType.RandomAI) ? new RandomBot(boardSize, color) : new SimpleBot(boardSize, color);
 	}
 
+	/**
+	 * Gibt das Zeitbudget pro Zug fuer eine Schwierigkeit zurueck (auch fuer den MctsBot). Die Werte sind feste
+	 * Obergrenzen, damit jeder Zug in absehbarer Zeit kommt. Sie bilden nicht die Laufzeit der frueheren festen
+	 * Anzahl an Kandidaten und Spielen nach, die fuer impossible mehrere Milliarden Spiele betragen haette.
+	 * Schwierigere Stufen duerfen laenger rechnen, eine Suche kann vorher enden.
+	 *
+	 * @param difficulty Schwierigkeitslevel
+	 * @return Zeitbudget in Millisekunden
+	 */
+	public static long getDefaultBudget(int difficulty) {
+		return DIFFICULTY_BUDGETS[Math.max(0, Math.min(difficulty, DIFFICULTY_BUDGETS.length - 1))];
+	}
+
+	/**
+	 * AdvancedBot Konstruktor mit Spieluhr
+	 * Das Zeitbudget jedes Zuges teilt die Spieluhr aus der verbleibenden Zeit des ganzen Spiels zu.
+	 *
+	 * @param boardSize Groesse des Spielfeldes
+	 * @param color Farbe des Spielers
+	 * @param simType Spielertyp zur Simulation
+	 * @param difficulty Schwierigkeitslevel
+	 * @param clock Spieluhr mit dem Zeitbudget fuer das ganze Spiel
+	 */
+	public AdvancedBot(int boardSize, PlayerColor color, PlayerType simType, int difficulty, GameClock clock) {
+		this(boardSize, color, simType, difficulty, 0);
+		this.clock = clock;
+	}
+
 	/**
 	 * Fordert Zug des AdvancedBot an und gibt diesen zurück
 	 */
 	@Override
 	public Move request() throws Exception, RemoteException {
-		MoveType moveType = spielbrett.getPhaseOf(color);
+		MoveType moveType = getSpielbrett().getPhaseOf(color);
 		nextMove = generateMove(moveType);
 		return nextMove;
 	}
@@ -70,109 +130,212 @@ public class AdvancedBot extends Spieler {
 			}
 		}
 
-		Spielbrett originalSb = spielbrett.clone();
-
-		int numStartMoves = 7 * difficulty + 7;
-		int numGames = 10 * difficulty + 10;
+		long start = System.nanoTime();
+		long budgetMillis = (clock != null) ? clock.allocate(spielbrett.viewer(), color) : timeBudgetMillis;
 
-		int bestGamePointDiff = -1000000;
-		Move bestStartMove = null;
+		Spielbrett simSb = spielbrett.clone();
+		simPlayer.spielbrett = simSb;
 
-		ArrayList<CompMove> pastStartMoves = new ArrayList<>();
+		// Zufallspartien laufen auf Kopien eines BitSpielbretts, nur der SimpleBot braucht ein Spielbrett
+		rolloutBoard = (simPlayer instanceof RandomBot) ? new BitSpielbrett(spielbrett.viewer()) : null;
 
-		/*
-		 * Anzahl der zur Auswahl stehenden Züge, die ausgeführt werden
-		 */
-		for (int i = 0; i < numStartMoves; i++) {
-			int curGamePointDiff = 0;
+		Move move = generateTimedMove(simSb, budgetMillis);
 
-			simPlayer.spielbrett = originalSb.clone();
+		if (clock != null)
+			clock.charge((System.nanoTime() - start) / 1000000L);
 
-			Move curStartMove = (i == 0) ? new Move(MoveType.Empty) : requestSimMove();
+		return move;
+	}
 
-			CompMove curStartCompMove = new CompMove(curStartMove);
+	/**
+	 * Simuliert statt einer festen Anzahl an Zuegen und Spielen so lange, bis das Zeitbudget aufgebraucht ist.
+	 * Die Spiele werden reihum auf die Kandidaten verteilt, ein neuer Kandidat kommt hinzu, sobald fuer jeden
+	 * bisherigen Kandidaten ausser dem leeren Zug im Schnitt GAMES_PER_CANDIDATE Spiele simuliert wurden. Gewaehlt wird der Kandidat mit der besten
+	 * durchschnittlichen Punktedifferenz.
+	 * Die Suche endet vorzeitig, wenn ausser dem leeren Zug kein Kandidat existiert oder wenn der beste Kandidat
+	 * nach einer vollen Runde klar vor dem zweitbesten liegt (siehe GameClock.isDominant), damit die restliche
+	 * Zeit spaeteren Zuegen zur Verfuegung steht.
+	 *
+	 * @param simSb Kopie des Spielbretts fuer die Simulationen
+	 * @param budgetMillis Zeitbudget dieses Zuges in Millisekunden
+	 * @return Move Bester Zug, der bis zum Ablauf des Zeitbudgets gefunden wurde
+	 */
+	private Move generateTimedMove(Spielbrett simSb, long budgetMillis) {
+		long deadline = System.nanoTime() + budgetMillis * 1000000L;
+
+		ArrayList<Move> startMoves = new ArrayList<>();
+		// pro Kandidat: Summe, Quadratsumme und Anzahl der Punktedifferenzen
+		ArrayList<long[]> results = new ArrayList<>();
+		HashSet<MoveKey> pastStartMoves = new HashSet<>();
+
+		startMoves.add(new Move(MoveType.Empty));
+		results.add(new long[3]);
+		pastStartMoves.add(MoveKey.of(startMoves.get(0)));
+
+		int totalGames = 0;
+		int duplicates = 0;
+		int next = 0;
+
+		while (System.nanoTime() - deadline < 0) {
+			// neuen Kandidaten anfordern, bis zu viele doppelte Zuege in Folge kommen
+			if (duplicates < MAX_DUPLICATES && totalGames >= (startMoves.size() - 1) * GAMES_PER_CANDIDATE) {
+				Move candidate = requestSimMove();
+
+				if (pastStartMoves.add(MoveKey.of(candidate))) {
+					startMoves.add(candidate);
+					results.add(new long[3]);
+					duplicates = 0;
+				} else {
+					duplicates++;
+				}
 
-			if (pastStartMoves.contains(curStartCompMove))
 				continue;
+			}
 
-			pastStartMoves.add(curStartCompMove);
+			// nur der leere Zug moeglich, Simulationen koennen nichts mehr entscheiden
+			if (startMoves.size() == 1 && duplicates >= MAX_DUPLICATES)
+				break;
 
-			/*
-			 * für jeden der obigen Züge werdem "numGames" mal spiele simuliert, und deren Endergebnisse verglichen
-			 * dann wird der Zug mit der höchsten gewinnquote gewählt
-			 */
-			for (int j = 0; j < numGames; j++) {
-				simPlayer.spielbrett = originalSb.clone();
+			int pointDiff = simulateGame(simSb, startMoves.get(next), deadline);
 
-				Move curMove = curStartMove;
-				Status simStatus;
+			if (pointDiff == ABORTED)
+				break;
 
-				while (true) {
-					simPlayer.spielbrett.make(curMove);
+			long[] result = results.get(next);
+			result[0] += pointDiff;
+			result[1] += (long) pointDiff * pointDiff;
+			result[2]++;
+			totalGames++;
+			next = (next + 1) % startMoves.size();
 
-					simStatus = simPlayer.spielbrett.getStatus();
+			if (next == 0 && startMoves.size() > 1 && isDecided(results))
+				break;
+		}
 
-					if (simStatus == Status.RedWin || simStatus == Status.BlueWin)
-						break;
+		Move bestStartMove = startMoves.get(0);
+		double bestMeanPointDiff = Double.NEGATIVE_INFINITY;
 
-					curMove = (Math.random() < 0.05) ? new Move(MoveType.Empty) : requestSimMove();
-				}
+		for (int i = 0; i < startMoves.size(); i++) {
+			long[] result = results.get(i);
 
-				GameView endGameView = (GameView)simPlayer.spielbrett.viewer();
+			if (result[2] == 0)
+				continue;
 
-				int points1 = endGameView.getInventoryOf(color).getPoints();
-				int points2 = endGameView.getInventoryOf(opponentColor).getPoints();
+			double meanPointDiff = (double) result[0] / result[2];
 
-				// addieren der Punktedifferenz jedes Spieldurchlaufs
-				curGamePointDiff += points1 - points2;
+			if (meanPointDiff >= bestMeanPointDiff) {
+				bestMeanPointDiff = meanPointDiff;
+				bestStartMove = startMoves.get(i);
 			}
+		}
+
+		simPlayer.color = spielbrett.getTurnColor();
+
+		return bestStartMove;
+	}
 
-			// wenn gesammtpunktedifferenz besser, dann neuer bester Zug
-			if (curGamePointDiff >= bestGamePointDiff) {
-				bestGamePointDiff = curGamePointDiff;
-				bestStartMove = curStartMove;
+	/**
+	 * Prueft, ob der Kandidat mit der besten durchschnittlichen Punktedifferenz klar vor dem zweitbesten liegt.
+	 * Als Streuung wird die gemeinsame Standardabweichung innerhalb der Kandidaten verwendet.
+	 *
+	 * @param results Summe, Quadratsumme und Anzahl der Punktedifferenzen pro Kandidat
+	 * @return Wahrheitswert, ob weitere Simulationen die Wahl nicht mehr aendern
+	 */
+	private boolean isDecided(ArrayList<long[]> results) {
+		double bestMean = Double.NEGATIVE_INFINITY;
+		double secondMean = Double.NEGATIVE_INFINITY;
+		long bestGames = 0;
+		long secondGames = 0;
+		double squaredDeviations = 0;
+		long totalGames = 0;
+
+		for (long[] result : results) {
+			if (result[2] == 0)
+				return false;
+
+			double mean = (double) result[0] / result[2];
+
+			if (mean > bestMean) {
+				secondMean = bestMean;
+				secondGames = bestGames;
+				bestMean = mean;
+				bestGames = result[2];
+			} else if (mean > secondMean) {
+				secondMean = mean;
+				secondGames = result[2];
 			}
+
+			squaredDeviations += result[1] - mean * result[0];
+			totalGames += result[2];
 		}
 
-		if (bestStartMove == null)
-			return new Move(MoveType.Empty);
+		if (totalGames <= results.size())
+			return false;
 
-		simPlayer.spielbrett = originalSb.clone();
-		simPlayer.color = spielbrett.getTurnColor();
+		double stdDev = Math.sqrt(Math.max(0, squaredDeviations) / (totalGames - results.size()));
 
-		return bestStartMove;
+		return GameClock.isDominant(bestMean, secondMean, stdDev, (int) Math.min(bestGames, secondGames));
 	}
 
 	/**
-	 * Fragt einen Move des simPlayer an
+	 * Simuliert ein Spiel ab dem Startzug bis zum Ende. Mit einem RandomBot als Simulationsspieler laeuft das
+	 * Spiel auf einer Kopie des BitSpielbretts, sonst auf dem Spielbrett, das danach wieder zurueckgesetzt wird.
 	 *
-	 * @return Move Zug des Spielertyps für Simulationen
+	 * @param simSb Spielbrett der Simulation
+	 * @param startMove erster Zug des Spiels
+	 * @param deadline Zeitpunkt (System.nanoTime()), ab dem abgebrochen wird
+	 * @return Punktedifferenz aus Sicht dieses Spielers oder ABORTED, falls die Zeit abgelaufen ist
 	 */
-	public Move requestSimMove() {
-		Move ergMove = new Move(MoveType.Empty);
+	private int simulateGame(Spielbrett simSb, Move startMove, long deadline) {
+		if (rolloutBoard != null) {
+			BitSpielbrett board = rolloutBoard.clone();
+			board.make(startMove);
 
-		simPlayer.color = simPlayer.spielbrett.getTurnColor();
+			if (!playRandomGame(board, ((RandomBot) simPlayer).getSampler(), 0.05, deadline))
+				return ABORTED;
 
-		Status testStatus = Status.Illegal;
+			return board.getPointsOf(color) - board.getPointsOf(opponentColor);
+		}
 
-		while (testStatus == Status.Illegal) {
-			Spielbrett testSb = simPlayer.spielbrett.clone();
+		Move curMove = startMove;
+		Status simStatus;
+		int numSimMoves = 0;
+		boolean aborted = false;
 
-			try {
-				ergMove = simPlayer.request();
-			} catch (RemoteException e) {
-				e.printStackTrace();
-			} catch (Exception e) {
-				e.printStackTrace();
+		while (true) {
+			simSb.make(curMove, getUndoRecord(numSimMoves++));
+
+			simStatus = simSb.getStatus();
+
+			if (simStatus == Status.RedWin || simStatus == Status.BlueWin)
+				break;
+
+			if (System.nanoTime() - deadline >= 0) {
+				aborted = true;
+				break;
 			}
 
-			testSb.make(ergMove);
-			testStatus = testSb.getStatus();
+			curMove = (Math.random() < 0.05) ? new Move(MoveType.Empty) : requestSimMove();
 		}
 
-		if (ergMove == null)
-			return new Move(MoveType.Empty);
+		int points1 = simSb.getPointsOf(color);
+		int points2 = simSb.getPointsOf(opponentColor);
 
-		return ergMove;
+		// simuliertes Spiel rueckgaengig machen, statt fuer das naechste Spiel ein neues Spielbrett zu kopieren
+		while (numSimMoves > 0) {
+			simSb.unmake(getUndoRecord(--numSimMoves));
+		}
+
+		return aborted ? ABORTED : points1 - points2;
+	}
+
+	/**
+	 * Fragt einen Move des simPlayer an. Wird der Zug abgelehnt, werden die abgelehnten Elemente entfernt,
+	 * ein nicht reparierbarer Zug wird durch einen erzeugten regelkonformen Zug ersetzt.
+	 *
+	 * @return Move Zug des Spielertyps für Simulationen
+	 */
+	public Move requestSimMove() {
+		return requestLegalMove(simPlayer);
 	}
 }
@@ -37,7 +37,7 @@ public class HumanPlayer extends Spieler {
 	 */
 	@Override
 	public Move request() throws Exception, RemoteException {
-		MoveType moveType = spielbrett.getPhaseOf(color);
+		MoveType moveType = getSpielbrett().getPhaseOf(color);
 		nextMove = requestHumanInput(moveType);
 		return nextMove;
 	}
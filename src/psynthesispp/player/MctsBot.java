@@ -0,0 +1,507 @@
+package psynthesispp.player;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+
+import psynthesispp.BitSpielbrett;
+import psynthesispp.GameClock;
+import psynthesispp.MoveKey;
+import psynthesispp.SimulationBoard;
+import psynthesispp.Spielbrett;
+import psynthesispp.TranspositionTable;
+import psynthesispp.preset.Move;
+import psynthesispp.preset.MoveType;
+import psynthesispp.preset.PlayerColor;
+import psynthesispp.preset.PlayerType;
+import psynthesispp.preset.Status;
+
+/**
+ * MctsBot, der mit Monte-Carlo-Baumsuche (UCT) einen Suchbaum ueber Zuege aufbaut. Die Kandidatenzuege und die
+ * Simulationen bis zum Spielende liefert ein RandomBot oder SimpleBot. Vielversprechende Zuege werden oefter
+ * untersucht, am Ende wird der am haeufigsten besuchte Zug gespielt. Der Suchbaum bleibt ueber mehrere Zuege
+ * erhalten: Nach confirm und update wird der Teilbaum des ausgefuehrten Zuges zur neuen Wurzel. Spielstaende, die
+ * ueber verschiedene Zugfolgen erreicht werden, teilen sich ihre Statistik ueber eine TranspositionTable. Die Tabelle
+ * merkt sich ausserdem den besten Zug jedes untersuchten Spielstandes, der in spaeteren Suchen bevorzugt wird.
+ * Eine Suche endet nach der Anzahl an Simulationen der Schwierigkeit oder spaetestens, wenn ihr Zeitbudget
+ * (fest pro Zug oder von einer GameClock zugeteilt) abgelaufen ist.
+ *
+ * @author evgen
+ */
+public class MctsBot extends Spieler {
+
+	/** Explorationskonstante der UCT-Formel */
+	private static final double EXPLORATION = 0.7;
+
+	/** Punktedifferenz, ab der der Punkteanteil einer Bewertung voll ausgeschoepft ist */
+	private static final double POINT_SCALE = 20.0;
+
+	/** Anzahl doppelter Kandidaten in Folge, nach der ein Knoten keine neuen Kinder mehr sucht */
+	private static final int MAX_DUPLICATES = 3;
+
+	/** Bonus fuer den besten Zug aus der Transpositionstabelle, der mit jedem Besuch des Kindes abnimmt */
+	private static final double HINT_BIAS = 0.5;
+
+	/** Obergrenze fuer die Anzahl der Simulationen pro Zug */
+	private static final int MAX_ITERATIONS = 50000;
+
+	private Spieler simPlayer;
+	private int difficulty;
+	private Node root;
+	private TranspositionTable table;
+	private BitSpielbrett rolloutRoot;
+	private long timeBudgetMillis;
+	private GameClock clock;
+
+	/**
+	 * Knoten des Suchbaums
+	 */
+	private static class Node {
+		Node parent;
+		Move move;
+		MoveKey key;
+		PlayerColor mover;
+		long hash;
+		long bestMoveHint;
+		ArrayList<Node> children = new ArrayList<>();
+		int visits;
+		double reward;
+		int duplicates;
+		boolean exhausted;
+
+		/**
+		 * Erstellt einen Knoten
+		 *
+		 * @param parent Elternknoten oder null fuer die Wurzel
+		 * @param move Zug, der zu diesem Knoten fuehrt
+		 * @param mover Spieler, der den Zug macht
+		 */
+		Node(Node parent, Move move, PlayerColor mover) {
+			this.parent = parent;
+			this.move = move;
+			this.key = (move == null) ? null : MoveKey.of(move);
+			this.mover = mover;
+		}
+	}
+
+	/**
+	 * MctsBot Konstruktor
+	 * Spieler des typs EnhancedAI
+	 * difficulty: easy, medium, hard, waitingSimulator, impossible
+	 * simType: simple, random
+	 *
+	 * @param boardSize Groesse des Spielfeldes
+	 * @param color Farbe des Spielers
+	 * @param simType Spielertyp zur Simulation
+	 * @param difficulty Schwierigkeitslevel
+	 */
+	public MctsBot(int boardSize, PlayerColor color, PlayerType simType, int difficulty) {
+		this(boardSize, color, simType, difficulty, new TranspositionTable(TranspositionTable.DEFAULT_MEMORY));
+	}
+
+	/**
+	 * MctsBot Konstruktor mit eigener Transpositionstabelle (z.B. mit dem Speicherbudget aus den Aufrufparametern)
+	 *
+	 * @param boardSize Groesse des Spielfeldes
+	 * @param color Farbe des Spielers
+	 * @param simType Spielertyp zur Simulation
+	 * @param difficulty Schwierigkeitslevel
+	 * @param table Transpositionstabelle fuer alle Suchen dieses Spielers
+	 */
+	public MctsBot(int boardSize, PlayerColor color, PlayerType simType, int difficulty, TranspositionTable table) {
+		this(boardSize, color, simType, difficulty, table, 0);
+	}
+
+	/**
+	 * MctsBot Konstruktor mit Zeitbudget
+	 * Die Suche endet spaetestens, wenn das Budget aufgebraucht ist, und liefert den bis dahin am haeufigsten
+	 * besuchten Zug.
+	 *
+	 * @param boardSize Groesse des Spielfeldes
+	 * @param color Farbe des Spielers
+	 * @param simType Spielertyp zur Simulation
+	 * @param difficulty Schwierigkeitslevel
+	 * @param table Transpositionstabelle fuer alle Suchen dieses Spielers
+	 * @param timeBudgetMillis Zeitbudget pro Zug in Millisekunden oder 0 fuer das Budget der Schwierigkeit
+	 */
+	public MctsBot(int boardSize, PlayerColor color, PlayerType simType, int difficulty, TranspositionTable table, long timeBudgetMillis) {
+		super(boardSize, color, PlayerType.EnhancedAI);
+		this.difficulty = difficulty;
+		this.table = table;
+		this.timeBudgetMillis = (timeBudgetMillis > 0) ? timeBudgetMillis : AdvancedBot.getDefaultBudget(difficulty);
+		this.simPlayer = (simType == PlayerType.RandomAI) ? new RandomBot(boardSize, color) : new SimpleBot(boardSize, color);
+	}
+
+	/**
+	 * MctsBot Konstruktor mit Spieluhr
+	 * Das Zeitbudget jeder Suche teilt die Spieluhr aus der verbleibenden Zeit des ganzen Spiels zu.
+	 *
+	 * @param boardSize Groesse des Spielfeldes
+	 * @param color Farbe des Spielers
+	 * @param simType Spielertyp zur Simulation
+	 * @param difficulty Schwierigkeitslevel
+	 * @param table Transpositionstabelle fuer alle Suchen dieses Spielers
+	 * @param clock Spieluhr mit dem Zeitbudget fuer das ganze Spiel
+	 */
+	public MctsBot(int boardSize, PlayerColor color, PlayerType simType, int difficulty, TranspositionTable table, GameClock clock) {
+		this(boardSize, color, simType, difficulty, table, 0);
+		this.clock = clock;
+	}
+
+	/**
+	 * Fordert Zug des MctsBot an und gibt diesen zurück
+	 */
+	@Override
+	public Move request() throws Exception, RemoteException {
+		MoveType moveType = getSpielbrett().getPhaseOf(color);
+
+		if (moveType == MoveType.Prepare)
+			nextMove = super.request();
+		else
+			nextMove = search();
+
+		return nextMove;
+	}
+
+	/**
+	 * Bestaetigt den eigenen Zug und macht den passenden Teilbaum zur neuen Wurzel
+	 */
+	@Override
+	public void confirm(Status boardStatus) throws Exception, RemoteException {
+		super.confirm(boardStatus);
+		advanceRoot(nextMove);
+	}
+
+	/**
+	 * Uebernimmt den Zug des Gegners und macht den passenden Teilbaum zur neuen Wurzel
+	 */
+	@Override
+	public void update(Move opponentMove, Status boardStatus) throws Exception, RemoteException {
+		super.update(opponentMove, boardStatus);
+		advanceRoot(opponentMove);
+	}
+
+	/**
+	 * Macht das Kind mit dem ausgefuehrten Zug zur neuen Wurzel, der Rest des Baums wird freigegeben.
+	 * Wurde der Zug nicht untersucht, wird der ganze Baum verworfen.
+	 *
+	 * @param move ausgefuehrter Zug
+	 */
+	private void advanceRoot(Move move) {
+		if (root == null || move == null)
+			return;
+
+		MoveKey key = MoveKey.of(move);
+		Node next = null;
+
+		for (Node child : root.children) {
+			if (child.key.equals(key)) {
+				next = child;
+				break;
+			}
+		}
+
+		if (next != null)
+			next.parent = null;
+
+		root = next;
+	}
+
+	/**
+	 * Gibt die Anzahl der Simulationen pro Zug zurueck. Sie entspricht der festen Anzahl an Simulationen, die der
+	 * AdvancedBot vor seinem Zeitbudget mit derselben Schwierigkeit verwendet hat, hoechstens aber MAX_ITERATIONS.
+	 *
+	 * @return Anzahl der Simulationen
+	 */
+	int getNumIterations() {
+		// begrenzt, bevor multipliziert wird, damit auch sehr grosse Schwierigkeiten nicht ueberlaufen
+		long d = Math.max(0, Math.min(difficulty, MAX_ITERATIONS));
+
+		return (int) Math.min((7 * d + 7) * (10 * d + 10), MAX_ITERATIONS);
+	}
+
+	/**
+	 * Baut den Suchbaum auf einer Kopie des Spielbretts auf und gibt den am haeufigsten besuchten Zug zurueck
+	 *
+	 * @return Move Bester Zug, den dieser Spieler gefunden hat
+	 */
+	private Move search() {
+		long start = System.nanoTime();
+		long budgetMillis = (clock != null) ? clock.allocate(spielbrett.viewer(), color) : timeBudgetMillis;
+		long deadline = start + budgetMillis * 1000000L;
+
+		Spielbrett simSb = spielbrett.clone();
+		simPlayer.spielbrett = simSb;
+
+		// der Teilbaum aus den letzten Zuegen passt nur, wenn er genau zu diesem Spielstand gehoert
+		if (root == null || root.hash != spielbrett.getHash()) {
+			root = new Node(null, null, null);
+			root.hash = spielbrett.getHash();
+
+			int slot = table.probe(root.hash);
+
+			if (slot != TranspositionTable.NONE)
+				root.bestMoveHint = table.getBestMove(slot);
+		}
+
+		// Zufallspartien laufen auf Kopien eines BitSpielbretts, nur der SimpleBot braucht ein Spielbrett
+		rolloutRoot = (simPlayer instanceof RandomBot) ? new BitSpielbrett(spielbrett.viewer()) : null;
+
+		// bereits vorhandene Simulationen des Teilbaums werden angerechnet, ein Viertel wird immer neu simuliert
+		int numIterations = Math.max(getNumIterations() - root.visits, getNumIterations() / 4);
+
+		table.nextGeneration();
+
+		// die Zeit wird erst nach jeder Iteration geprueft, die erste Iteration wird also immer begonnen
+		for (int i = 0; i < numIterations; i++) {
+			if (!runIteration(simSb, deadline) || System.nanoTime() - deadline >= 0)
+				break;
+		}
+
+		storeBestMoves(root);
+
+		if (clock != null)
+			clock.charge((System.nanoTime() - start) / 1000000L);
+
+		Node best = getMostVisited(root);
+
+		if (best == null)
+			return new Move(MoveType.Empty);
+
+		return best.move;
+	}
+
+	/**
+	 * Gibt das am haeufigsten besuchte Kind zurueck
+	 *
+	 * @param node Knoten
+	 * @return am haeufigsten besuchtes Kind oder null, falls der Knoten keine Kinder hat
+	 */
+	private Node getMostVisited(Node node) {
+		Node best = null;
+
+		for (Node child : node.children) {
+			if (best == null || child.visits > best.visits)
+				best = child;
+		}
+
+		return best;
+	}
+
+	/**
+	 * Speichert fuer jeden erweiterten Knoten des Teilbaums das am haeufigsten besuchte Kind als besten Zug in der
+	 * Transpositionstabelle
+	 *
+	 * @param node Wurzel des Teilbaums
+	 */
+	private void storeBestMoves(Node node) {
+		Node best = getMostVisited(node);
+
+		if (best == null)
+			return;
+
+		table.setBestMove(node.hash, best.key.getHash());
+		node.bestMoveHint = best.key.getHash();
+
+		for (Node child : node.children) {
+			storeBestMoves(child);
+		}
+	}
+
+	/**
+	 * Fuehrt eine Iteration aus: Auswahl eines Pfades im Baum, Erweiterung um einen Knoten, Simulation bis zum
+	 * Spielende und Rueckfuehrung des Ergebnisses. Das Spielbrett wird danach wieder zurueckgesetzt.
+	 * Laeuft die Zeit waehrend der Simulation ab, wird das unvollstaendige Spiel nicht gewertet.
+	 *
+	 * @param simSb Spielbrett der Simulation im Zustand der Wurzel
+	 * @param deadline Zeitpunkt (System.nanoTime()), ab dem die Simulation abgebrochen wird
+	 * @return Wahrheitswert, ob die Simulation vor Ablauf der Zeit zu Ende gespielt wurde
+	 */
+	private boolean runIteration(Spielbrett simSb, long deadline) {
+		Node node = root;
+		int numSimMoves = 0;
+
+		// Auswahl und Erweiterung
+		while (!isDecided(simSb)) {
+			Node child = expand(node, simSb);
+			boolean expanded = child != null;
+
+			if (!expanded)
+				child = select(node);
+
+			simSb.make(child.move, getUndoRecord(numSimMoves++));
+			node = child;
+
+			if (expanded)
+				node.hash = simSb.getHash();
+
+			// ueber eine andere Zugfolge schon weiter untersuchter Spielstand: dessen Statistik uebernehmen
+			int slot = table.probe(node.hash);
+
+			if (slot != TranspositionTable.NONE) {
+				if (table.getVisits(slot) > node.visits) {
+					node.visits = table.getVisits(slot);
+					node.reward = table.getValue(slot);
+				}
+
+				if (expanded)
+					node.bestMoveHint = table.getBestMove(slot);
+			}
+
+			if (expanded)
+				break;
+		}
+
+		// Simulation mit dem Spielertyp zur Simulation
+		SimulationBoard endBoard = simSb;
+		boolean finished = true;
+
+		if (rolloutRoot != null && !isDecided(simSb)) {
+			BitSpielbrett board = rolloutRoot.clone();
+			replayPath(board, node);
+			finished = playRandomGame(board, ((RandomBot) simPlayer).getSampler(), 0, deadline);
+			endBoard = board;
+		} else {
+			while (!isDecided(simSb)) {
+				if (System.nanoTime() - deadline >= 0) {
+					finished = false;
+					break;
+				}
+
+				simSb.make(requestLegalMove(simPlayer), getUndoRecord(numSimMoves++));
+			}
+		}
+
+		if (!finished) {
+			// ein gerade erweiterter Knoten ohne Ergebnis wuerde die UCT-Formel durch 0 teilen lassen
+			if (node.visits == 0 && node.parent != null)
+				node.parent.children.remove(node);
+
+			while (numSimMoves > 0) {
+				simSb.unmake(getUndoRecord(--numSimMoves));
+			}
+
+			return false;
+		}
+
+		boolean redWin = endBoard.getStatus() == Status.RedWin;
+		int pointDiffRed = endBoard.getPointsOf(PlayerColor.Red) - endBoard.getPointsOf(PlayerColor.Blue);
+
+		for (Node cur = node; cur != null; cur = cur.parent) {
+			cur.visits++;
+
+			if (cur.mover != null) {
+				double reward = evaluate(cur.mover, redWin, pointDiffRed);
+				cur.reward += reward;
+				table.add(cur.hash, reward);
+			}
+		}
+
+		while (numSimMoves > 0) {
+			simSb.unmake(getUndoRecord(--numSimMoves));
+		}
+
+		return true;
+	}
+
+	/**
+	 * Fuehrt die Zuege von der Wurzel bis zum Knoten auf dem Spielbrett aus
+	 *
+	 * @param board Spielbrett im Zustand der Wurzel
+	 * @param node Knoten im Baum unter der Wurzel
+	 */
+	private void replayPath(SimulationBoard board, Node node) {
+		if (node == root)
+			return;
+
+		replayPath(board, node.parent);
+		board.make(node.move);
+	}
+
+	/**
+	 * Erweitert den Knoten um einen neuen Kandidatenzug, solange er nach der Anzahl seiner Besuche noch Kinder
+	 * aufnehmen darf (progressive widening). Der erste Kandidat ist immer der leere Zug.
+	 *
+	 * @param node zu erweiternder Knoten
+	 * @param simSb Spielbrett im Zustand des Knotens
+	 * @return neues Kind oder null, falls der Knoten nicht erweitert wird
+	 */
+	private Node expand(Node node, Spielbrett simSb) {
+		if (node.exhausted || node.children.size() >= 1 + (int) (2 * Math.sqrt(node.visits)))
+			return null;
+
+		Move candidate = node.children.isEmpty() ? new Move(MoveType.Empty) : requestLegalMove(simPlayer);
+		MoveKey key = MoveKey.of(candidate);
+
+		for (Node child : node.children) {
+			if (child.key.equals(key)) {
+				if (++node.duplicates >= MAX_DUPLICATES)
+					node.exhausted = true;
+
+				return null;
+			}
+		}
+
+		node.duplicates = 0;
+
+		Node child = new Node(node, candidate, simSb.getTurnColor());
+		node.children.add(child);
+
+		return child;
+	}
+
+	/**
+	 * Waehlt das Kind mit dem hoechsten UCT-Wert. Der beste Zug aus der Transpositionstabelle erhaelt einen
+	 * Bonus, der mit den Besuchen des Kindes abnimmt.
+	 *
+	 * @param node Knoten mit mindestens einem Kind
+	 * @return ausgewaehltes Kind
+	 */
+	private Node select(Node node) {
+		double logVisits = Math.log(node.visits);
+		Node best = null;
+		double bestValue = Double.NEGATIVE_INFINITY;
+
+		for (Node child : node.children) {
+			double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+
+			if (node.bestMoveHint != 0 && child.key.getHash() == node.bestMoveHint)
+				value += HINT_BIAS / (1 + child.visits);
+
+			if (value > bestValue) {
+				bestValue = value;
+				best = child;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Bewertet ein Spielende aus Sicht eines Spielers mit einem Wert zwischen 0 und 1. Sieg oder Niederlage
+	 * zaehlen zur Haelfte, die Punktedifferenz zur anderen Haelfte.
+	 *
+	 * @param player Spieler, aus dessen Sicht bewertet wird
+	 * @param redWin Wahrheitswert, ob Rot gewonnen hat
+	 * @param pointDiffRed Punkte von Rot minus Punkte von Blau
+	 * @return Bewertung
+	 */
+	private double evaluate(PlayerColor player, boolean redWin, int pointDiffRed) {
+		boolean win = redWin == (player == PlayerColor.Red);
+		double pointDiff = (player == PlayerColor.Red) ? pointDiffRed : -pointDiffRed;
+		double pointShare = Math.max(-1.0, Math.min(1.0, pointDiff / POINT_SCALE));
+
+		return (win ? 0.5 : 0.0) + 0.25 * (1.0 + pointShare);
+	}
+
+	/**
+	 * Gibt zurueck, ob das simulierte Spiel entschieden ist
+	 *
+	 * @param simSb Spielbrett der Simulation
+	 * @return Wahrheitswert, ob Rot oder Blau gewonnen hat
+	 */
+	private boolean isDecided(SimulationBoard simSb) {
+		Status simStatus = simSb.getStatus();
+
+		return simStatus == Status.RedWin || simStatus == Status.BlueWin;
+	}
+}
@@ -7,6 +7,7 @@ import java.util.Collections;
 import psynthesispp.GameUnit;
 import psynthesispp.GameView;
 import psynthesispp.Inventory;
+import psynthesispp.RuleTables;
 import psynthesispp.Spielbrett;
 import psynthesispp.preset.Hexagon;
 import psynthesispp.preset.HexagonTuple;
@@ -40,7 +41,7 @@ public class SimpleBot extends Spieler {
 	 */
 	@Override
 	public Move request() throws Exception, RemoteException {
-		MoveType moveType = spielbrett.getPhaseOf(color);
+		MoveType moveType = getSpielbrett().getPhaseOf(color);
 		nextMove = generateMove(moveType);
 		return nextMove;
 	}
@@ -55,7 +56,7 @@ public class SimpleBot extends Spieler {
 		int n = 2 * k + 1;
 
 		Spielbrett testSb = spielbrett.clone();
-		GameView gameView = (GameView)spielbrett.viewer();
+		GameView gameView = spielbrett.copyViewer();
 
 		GameUnit[][] gamefield = gameView.getField();
 		Inventory curInventory = gameView.getInventoryOf(color);
@@ -73,7 +74,7 @@ public class SimpleBot extends Spieler {
 		 * erstellt ein Spielfeld auf dem alle vorhandenen Bäume die maximale Größe haben
 		 */
 		Spielbrett maxTreeTestSb = testSb.clone();
-		GameView maxTreeTestView = (GameView)maxTreeTestSb.viewer();
+		GameView maxTreeTestView = maxTreeTestSb.copyViewer();
 		GameUnit[][] maxTreeSizeField = maxTreeTestView.getField();
 
 
@@ -114,14 +115,14 @@ public class SimpleBot extends Spieler {
 
 			for (int i = 0; i < n; i++) {
 				for (int j = 0; j < n; j++) {
-					Hexagon newTreeHex = new Hexagon(i, j);
+					Hexagon newTreeHex = Hexagon.of(i, j);
 
 					if (!testSb.isPreparable(newTreeHex))
 						continue;
 
 					plantedTreesCurPlayer.add(newTreeHex);
 
-					GameView maxTreeGameViewTest = (GameView)maxTreeSizeBrettReset.viewer();
+					GameView maxTreeGameViewTest = maxTreeSizeBrettReset.copyViewer();
 
 					GameUnit modNewTree = new GameUnit(i, j, k, color);
 
@@ -129,14 +130,8 @@ public class SimpleBot extends Spieler {
 
 					Spielbrett maxTreeSb = new Spielbrett(maxTreeGameViewTest);
 
-					int producableEnergy = 0;
-
-					//für jeden baum wird die generierte Energy berechnet
-					for (Hexagon curTreeHex : plantedTreesCurPlayer) {
-						for(int m = 0; m < 6; m++) {
-							producableEnergy += maxTreeSb.getProducedEnergyOf(curTreeHex, m);
-						}
-					}
+					//die generierte Energy aller eigenen Baeume ueber alle Sonnenpositionen
+					int producableEnergy = maxTreeSb.getProducedEnergyOf(color);
 
 					if (producableEnergy < maxProducableEnergy)
 						continue;
@@ -229,67 +224,72 @@ public class SimpleBot extends Spieler {
 
 			ArrayList<Integer> plantEnergy = new ArrayList<>();
 			ArrayList<HexagonTuple> bestPlantTuples = new ArrayList<>();
+			RuleTables rules = testSb.getRules();
 
 			//alle Moeglichen plant positionen werden gespeichert in ArrayList
 			for (Hexagon treeHex : plantedTreesCurPlayer) {
-				for (int i = 0; i < n; i++) {
-					for (int j = 0; j < n; j++) {
-						if (!testSb.isEmpty(i, j))
-							continue;
+				int treeCell = treeHex.getColumn() * Hexagon.BASE + treeHex.getRow();
+				int treeSize = gamefield[treeHex.getColumn()][treeHex.getRow()].getSize();
 
-						Hexagon seedHex = gamefield[i][j].getHexagon();
+				//nur Felder im Abstand der Baumgroesse koennen bepflanzt werden
+				for (int seedCell : rules.getRing(treeCell, treeSize)) {
+					int i = seedCell / Hexagon.BASE;
+					int j = seedCell % Hexagon.BASE;
+
+					if (!testSb.isEmpty(i, j))
+						continue;
 
-						HexagonTuple plantTuple = new HexagonTuple(treeHex, seedHex);
+					Hexagon seedHex = gamefield[i][j].getHexagon();
 
-						ArrayList<HexagonTuple> testTuples = new ArrayList<>();
+					HexagonTuple plantTuple = HexagonTuple.of(treeHex, seedHex);
 
-						testTuples.add(plantTuple);
+					ArrayList<HexagonTuple> testTuples = new ArrayList<>();
 
-						if (!testSb.isPlantable(testTuples))
-							continue;
+					testTuples.add(plantTuple);
 
-						GameView modSeedGameViewTest = (GameView)testSb.viewer();
+					if (!testSb.isPlantable(testTuples))
+						continue;
 
-						GameUnit modSeed = new GameUnit(i, j, k, color);
+					GameView modSeedGameViewTest = testSb.copyViewer();
 
-						modSeedGameViewTest.addUnit(modSeed);
+					GameUnit modSeed = new GameUnit(i, j, k, color);
 
-						Spielbrett modSeedSbTest = new Spielbrett(modSeedGameViewTest);
+					modSeedGameViewTest.addUnit(modSeed);
 
+					Spielbrett modSeedSbTest = new Spielbrett(modSeedGameViewTest);
 
-						int producableEnergy = 0;
-						/*
-						 * für jeden PlantTuple wird der Zug ausgeführt und die Energy berechnet
-						 */
-						for (Hexagon curPlantedTreeHex : plantedTreesCurPlayer) {
-							for(int m = 0; m < 6; m++) {
-								producableEnergy += modSeedSbTest.getProducedEnergyOf(curPlantedTreeHex, m);
-							}
-						}
 
+					/*
+					 * für jeden PlantTuple wird der Zug ausgeführt und die Energy der bisherigen Baeume berechnet
+					 * (Energie aller eigenen Baeume ohne den neuen Samen)
+					 */
+					int producableEnergy = modSeedSbTest.getProducedEnergyOf(color);
 
-						int insertIndex = 0;
+					for (int m = 0; m < 6; m++) {
+						producableEnergy -= modSeedSbTest.getProducedEnergyOf(seedHex, m);
+					}
 
-						for (int m = 0; m < plantEnergy.size(); m++) {
-							if (producableEnergy >= plantEnergy.get(m)) {
-								insertIndex = m;
-								break;
-							}
-						}
 
-						plantEnergy.add(insertIndex, producableEnergy);
-						bestPlantTuples.add(insertIndex, plantTuple);
+					int insertIndex = 0;
+
+					for (int m = 0; m < plantEnergy.size(); m++) {
+						if (producableEnergy >= plantEnergy.get(m)) {
+							insertIndex = m;
+							break;
+						}
 					}
+
+					plantEnergy.add(insertIndex, producableEnergy);
+					bestPlantTuples.add(insertIndex, plantTuple);
 				}
 			}
 
-			//wenn nicht plantable, dann wird ein element aus der ArrayList entfernt und erneut probiert
-			for (int i = 0; i < bestPlantTuples.size(); i++) {
-				if (testSb.isPlantable(bestPlantTuples) && Math.random() < 0.2)
-					break;
+			//in einem Durchlauf die besten Paare waehlen, die zusammen pflanzbar sind
+			bestPlantTuples = testSb.getMaximalPlantable(bestPlantTuples);
 
-				bestPlantTuples.remove(i);
-				i--;
+			//nicht immer alle Samen pflanzen, jedes weitere Paar bleibt nur mit Wahrscheinlichkeit 0.2
+			while (!bestPlantTuples.isEmpty() && Math.random() >= 0.2) {
+				bestPlantTuples.remove(bestPlantTuples.size() - 1);
 			}
 
 			if (bestPlantTuples.size() == 0)
@@ -330,13 +330,8 @@ public class SimpleBot extends Spieler {
 
 				gamefield[curTreeY][curTreeX].grow();
 
-				int producableEnergy = 0;
 				//energy über alle Sonnenphasen sammeln
-				for (Hexagon curTreeHex : plantedTreesCurPlayer) {
-					for (int m = 0; m < 6; m++) {
-						producableEnergy += testSb.getProducedEnergyOf(curTreeHex, m);
-					}
-				}
+				int producableEnergy = testSb.getProducedEnergyOf(color);
 
 				gamefield[curTreeY][curTreeX] = treeCopy;
 
@@ -353,16 +348,8 @@ public class SimpleBot extends Spieler {
 				bestGrowTrees.add(insertIndex, treeHex);
 			}
 
-			//solange, bis keine Energie mehr vorhanden ist wird wachsen gelassen
-
-			for (int i = 0; i < bestGrowTrees.size(); i++) {
-				if (testSb.isGrowable(bestGrowTrees))
-
-					break;
-
-				bestGrowTrees.remove(i);
-				i--;
-			}
+			//in der sortierten Reihenfolge wachsen lassen, solange Energie und aktive Elemente reichen
+			bestGrowTrees = testSb.getMaximalGrowable(bestGrowTrees);
 
 			if (bestGrowTrees.size() == 0)
 				return new Move(MoveType.Empty);
@@ -1,9 +1,17 @@
 package psynthesispp.player;
 
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
 
+import psynthesispp.MoveGenerator;
+import psynthesispp.RandomMoveSampler;
+import psynthesispp.Rejection;
+import psynthesispp.SimulationBoard;
 import psynthesispp.Spielbrett;
 import psynthesispp.TextInput;
+import psynthesispp.UndoRecord;
 import psynthesispp.preset.Move;
 import psynthesispp.preset.MoveType;
 import psynthesispp.preset.Player;
@@ -16,6 +24,11 @@ import psynthesispp.preset.Status;
  */
 public abstract class Spieler implements Player {
 
+	/** Anzahl der erzeugten Zuege, aus denen ein Ersatz fuer einen nicht reparierbaren Zug gewaehlt wird */
+	private static final int MAX_FALLBACK_MOVES = 64;
+
+	private static final Random fallbackRandom = new Random();
+
 	int k;
 	Move nextMove;
 	PlayerColor color;
@@ -24,6 +37,8 @@ public abstract class Spieler implements Player {
 	Spielbrett spielbrett;
 	PlayerColor opponentColor;
 	Status playerStatus = Status.Ok;
+	boolean sharedBoard = false;
+	private ArrayList<UndoRecord> undoStack = new ArrayList<>();
 
 	/**
 	 * Spieler Konstruktor
@@ -49,6 +64,8 @@ public abstract class Spieler implements Player {
 	/**
 	 * Spieler wird erstellt und in Kombination mit
 	 * Spielfeldgroesse kann eine Party erstellt werden
+	 * Das eigene Spielbrett wird erst beim ersten Zugriff angelegt (siehe getSpielbrett()),
+	 * damit Spieler, die ein fremdes Spielbrett benutzen, keines umsonst erzeugen
 	 *
 	 * @param boardSize Groesse des Spielfelds
 	 * @param color Farbe des Spielers
@@ -57,10 +74,44 @@ public abstract class Spieler implements Player {
 	public void init(int boardSize, PlayerColor color) throws Exception, RemoteException {
 		this.color = color;
 		this.k = boardSize;
-		this.spielbrett = new Spielbrett(boardSize);
+		this.spielbrett = null;
 		this.opponentColor = (color == PlayerColor.Red) ? PlayerColor.Blue : PlayerColor.Red;
 	}
 
+	/**
+	 * Gibt das Spielbrett des Spielers zurueck und legt beim ersten Zugriff ein eigenes an,
+	 * falls keines geteilt oder zugewiesen wurde
+	 *
+	 * @return Spielbrett des Spielers
+	 */
+	Spielbrett getSpielbrett() {
+		if (spielbrett == null)
+			spielbrett = new Spielbrett(k);
+
+		return spielbrett;
+	}
+
+	/**
+	 * Laesst den Spieler das Spielbrett der Spielschleife mitbenutzen, statt ein eigenes Spielbrett nachzufuehren.
+	 * Nur fuer Spieler in derselben JVM: Der Spieler liest das Spielbrett nur, confirm und update fuehren keine
+	 * Zuege mehr aus, sondern uebernehmen nur noch den Status.
+	 *
+	 * @param board Spielbrett der Spielschleife
+	 */
+	public void shareBoard(Spielbrett board) {
+		this.spielbrett = board;
+		this.sharedBoard = true;
+	}
+
+	/**
+	 * Liefert, ob der Spieler das Spielbrett der Spielschleife mitbenutzt
+	 *
+	 * @return boolean True, wenn shareBoard aufgerufen wurde
+	 */
+	public boolean isSharingBoard() {
+		return sharedBoard;
+	}
+
 	/**
 	 * Liefert die Farbe des Spielers
 	 *
@@ -73,12 +124,18 @@ public abstract class Spieler implements Player {
 	/**
 	 *Bestätigt den Nächsten Zug
 	 *sollte er dem Status des Main spielbretts wiedersprechen, wird eine Exception geworfen
+	 *Bei geteiltem Spielbrett wird nur der Status uebernommen
 	 *
 	 *@param boardStatus Status des Spielbretts
 	 */
 	@Override
 	public void confirm(Status boardStatus) throws Exception, RemoteException {
-		spielbrett.make(nextMove);
+		if (sharedBoard) {
+			playerStatus = boardStatus;
+			return;
+		}
+
+		getSpielbrett().make(nextMove);
 
 		playerStatus = spielbrett.getStatus();
 
@@ -96,13 +153,19 @@ public abstract class Spieler implements Player {
 	/**
 	 * Updated den Zug des Gegeners auf dem Spielbrett des Spielers
 	 * sollte er dem Status des Main spielbretts wiedersprechen, wird eine Exception geworfen
+	 * Bei geteiltem Spielbrett wird nur der Status uebernommen
 	 *
 	 * @param opponentMove Gegnerischer Zug
 	 * @param boardStatus Status des Spielbretts
 	 */
 	@Override
 	public void update(Move opponentMove, Status boardStatus) throws Exception, RemoteException {
-		spielbrett.make(opponentMove);
+		if (sharedBoard) {
+			playerStatus = boardStatus;
+			return;
+		}
+
+		getSpielbrett().make(opponentMove);
 
 		playerStatus = spielbrett.getStatus();
 
@@ -150,11 +213,114 @@ public abstract class Spieler implements Player {
 	 */
 	@Override
 	public Move request() throws Exception, RemoteException {
-		MoveType moveType = spielbrett.getPhaseOf(color);
+		MoveType moveType = getSpielbrett().getPhaseOf(color);
 
-		if (moveType == MoveType.Prepare)
-			return new RandomBot(k, color).request();
+		if (moveType == MoveType.Prepare) {
+			// der Zufallsbot muss auf dem aktuellen Spielbrett ziehen, nicht auf einem leeren
+			RandomBot prepareBot = new RandomBot(k, color);
+			prepareBot.spielbrett = getSpielbrett();
+
+			return prepareBot.request();
+		}
 
 		return new Move(MoveType.Empty);
 	}
+
+	/**
+	 * Fragt einen Zug des Simulationsspielers fuer den Spieler am Zug auf dessen Spielbrett an.
+	 * Wird der Zug abgelehnt, werden die abgelehnten Elemente entfernt. Ein nicht reparierbarer Zug
+	 * wird durch einen vom MoveGenerator erzeugten Zug ersetzt, statt ihn erneut anzufordern.
+	 *
+	 * @param simPlayer Spieler, dessen Logik die Zuege fuer Simulationen liefert
+	 * @return Move regelkonformer Zug
+	 */
+	static Move requestLegalMove(Spieler simPlayer) {
+		Move ergMove = null;
+
+		simPlayer.color = simPlayer.spielbrett.getTurnColor();
+
+		Spielbrett testSb = simPlayer.spielbrett;
+
+		try {
+			ergMove = simPlayer.request();
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		Rejection rejection = testSb.validate(ergMove);
+
+		// abgelehnte Elemente gezielt entfernen, statt einen ganz neuen Zug anzufordern
+		while (rejection != null && rejection.isRepairable()) {
+			ergMove = rejection.repair(ergMove);
+			rejection = testSb.validate(ergMove);
+		}
+
+		if (rejection != null)
+			return generateFallbackMove(testSb);
+
+		return ergMove;
+	}
+
+	/**
+	 * Gibt den wiederverwendbaren UndoRecord fuer den Zug mit dem uebergebenen Index einer Simulation zurueck.
+	 * Suchende Spieler fuehren ihre Simulationen damit auf einem Spielbrett aus und nehmen sie danach zurueck.
+	 *
+	 * @param index Index des Zuges in der Simulation
+	 * @return UndoRecord fuer diesen Zug
+	 */
+	UndoRecord getUndoRecord(int index) {
+		while (undoStack.size() <= index) {
+			undoStack.add(new UndoRecord());
+		}
+
+		return undoStack.get(index);
+	}
+
+	/**
+	 * Waehlt zufaellig einen der ersten MAX_FALLBACK_MOVES regelkonformen Zuege des Spielers am Zug
+	 *
+	 * @param spielbrett Spielbrett
+	 * @return regelkonformer Zug (leerer Zug, falls keiner erzeugt wird)
+	 */
+	private static Move generateFallbackMove(Spielbrett spielbrett) {
+		Iterator<Move> moves = new MoveGenerator(spielbrett).moves();
+		Move fallback = new Move(MoveType.Empty);
+		int seen = 0;
+
+		while (moves.hasNext() && seen < MAX_FALLBACK_MOVES) {
+			Move move = moves.next();
+			seen++;
+
+			if (fallbackRandom.nextInt(seen) == 0)
+				fallback = move;
+		}
+
+		return fallback;
+	}
+
+	/**
+	 * Spielt eine Simulation mit Zufallszuegen bis zum Spielende. Laeuft auf jedem SimulationBoard, die Bots
+	 * verwenden dafuer eine Kopie eines BitSpielbretts.
+	 *
+	 * @param board Spielbrett der Simulation, wird veraendert
+	 * @param sampler Sampler fuer die Zufallszuege
+	 * @param emptyProbability Wahrscheinlichkeit, statt eines Zufallszuges den leeren Zug zu machen
+	 * @param deadline Zeitpunkt (System.nanoTime()), ab dem abgebrochen wird, oder 0 fuer keine Begrenzung
+	 * @return Wahrheitswert, ob das Spiel beendet wurde (false, falls die Zeit vorher abgelaufen ist)
+	 */
+	static boolean playRandomGame(SimulationBoard board, RandomMoveSampler sampler, double emptyProbability, long deadline) {
+		while (true) {
+			Status simStatus = board.getStatus();
+
+			if (simStatus == Status.RedWin || simStatus == Status.BlueWin)
+				return true;
+
+			if (deadline != 0 && System.nanoTime() - deadline >= 0)
+				return false;
+
+			board.make((Math.random() < emptyProbability) ? new Move(MoveType.Empty) : sampler.sample(board));
+		}
+	}
 }
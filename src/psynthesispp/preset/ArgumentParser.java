@@ -328,5 +328,33 @@ public class ArgumentParser {
     //  Hier koennen weitere Schalter und Einstellungen ergaenzt werden...
     // ********************************************************************
 
+    public boolean isSharedBoard() throws ArgumentParserException {
+        if (!isSet("sharedBoard"))
+            return false;
+
+        return getFlag("sharedBoard");
+    }
+
+    public int getTranspositionMemory() throws ArgumentParserException {
+        if (!isSet("ttMemory"))
+            return 16;
+
+        return Integer.parseInt((String) getSetting("ttMemory"));
+    }
+
+    public int getTimeBudget() throws ArgumentParserException {
+        if (!isSet("timeBudget"))
+            return 0;
+
+        return Integer.parseInt((String) getSetting("timeBudget"));
+    }
+
+    public int getGameBudget() throws ArgumentParserException {
+        if (!isSet("gameBudget"))
+            return 0;
+
+        return Integer.parseInt((String) getSetting("gameBudget"));
+    }
+
 
 }
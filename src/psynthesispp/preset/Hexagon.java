@@ -43,6 +43,8 @@ public class Hexagon implements Serializable, Comparable<Hexagon> {
     }
 
     public boolean equals(final Object o) {
+        if (o == this)
+            return true;
         if (o == null)
             return false;
         if (!(o instanceof Hexagon))
@@ -71,6 +73,44 @@ public class Hexagon implements Serializable, Comparable<Hexagon> {
     }
 
     // static ==============================================
+    /** canonical instances for all coordinates, index is the hash code */
+    private static final Hexagon[] CACHE = new Hexagon[NEXT_HASH];
+
+    static {
+        for (int column = 0; column < BASE; column++)
+            for (int row = 0; row < BASE; row++)
+                CACHE[column * BASE + row] = new Hexagon(column, row);
+    }
+
+    // -----------------------------------------------------
+    /**
+     * Returns the canonical (shared) instance for the given coordinates.
+     * Canonical instances may be compared with == as a fast path.
+     */
+    public static Hexagon of(final int column, final int row) {
+		if (column < 0 || column >= BASE || row < 0 || row >= BASE)
+		    throw new HexagonFormatException("format: 0 <= column/row <= " + (BASE-1));
+        return CACHE[column * BASE + row];
+    }
+
+    /** Returns the canonical instance for the given hash code (column * BASE + row). */
+    public static Hexagon ofHash(final int hash) {
+        if (hash < 0 || hash >= NEXT_HASH)
+            throw new HexagonFormatException("format: 0 <= hash < " + NEXT_HASH);
+        return CACHE[hash];
+    }
+
+    /** Returns the canonical instance equal to the given hexagon. */
+    public static Hexagon of(final Hexagon hex) {
+        return CACHE[hex.hashCode()];
+    }
+
+    // -----------------------------------------------------
+    /** deserialized hexagons (e.g. via RMI) are replaced by the canonical instance */
+    private Object readResolve() {
+        return CACHE[hashCode()];
+    }
+
     
     // -----------------------------------------------------
     public static Hexagon parse(final String string) {
@@ -95,7 +135,7 @@ public class Hexagon implements Serializable, Comparable<Hexagon> {
             throw new HexagonFormatException(msg);
 	
         try {
-            return new Hexagon(Integer.parseInt(parts[0].trim()),
+            return Hexagon.of(Integer.parseInt(parts[0].trim()),
 			    Integer.parseInt(parts[1].trim()));
         } catch (NumberFormatException e) {
             throw new HexagonFormatException("wrong number format! ", e);
@@ -40,6 +40,8 @@ public class HexagonTuple implements Serializable {
     }
     
     public boolean equals(final Object o) {
+        if (o == this)
+            return true;
         if (o == null)
             return false;
         if (!(o instanceof HexagonTuple))
@@ -70,6 +72,30 @@ public class HexagonTuple implements Serializable {
     private Hexagon[] hex;
 
     // static ==============================================
+    /** canonical instances for all pairs of hexagons, index is the hash code */
+    private static final HexagonTuple[] CACHE = new HexagonTuple[NEXT_HASH];
+
+    static {
+        for (int from = 0; from < BASE; from++)
+            for (int to = 0; to < BASE; to++)
+                CACHE[from * BASE + to] = new HexagonTuple(Hexagon.ofHash(from), Hexagon.ofHash(to));
+    }
+
+    // -----------------------------------------------------
+    /**
+     * Returns the canonical (shared) tuple of the canonical hexagons equal to from and to.
+     * Canonical instances may be compared with == as a fast path.
+     */
+    public static HexagonTuple of(final Hexagon from, final Hexagon to) {
+        return CACHE[from.hashCode() * BASE + to.hashCode()];
+    }
+
+    // -----------------------------------------------------
+    /** deserialized tuples (e.g. via RMI) are replaced by the canonical instance */
+    private Object readResolve() {
+        return CACHE[hashCode()];
+    }
+
    
     //------------------------------------------------------
     protected static Hexagon[] parse(final String string) {
@@ -141,7 +141,7 @@ public class Move implements Serializable {
 	String[] parts = str.split("\\+");
 	for(String p:  parts) {
 	    Hexagon[] h = HexagonTuple.parse(p.trim());
-	    list.add(new HexagonTuple(h[0], h[1]));
+	    list.add(HexagonTuple.of(h[0], h[1]));
 	}
 	
 	return list.toArray(new HexagonTuple[0]);